@@ -0,0 +1,73 @@
+package com.thoughtworks.springbootemployee;
+
+import com.thoughtworks.springbootemployee.dao.EmployeeRepository;
+import com.thoughtworks.springbootemployee.dto.EmployeeBatchResult;
+import com.thoughtworks.springbootemployee.dto.EmployeeRequest;
+import com.thoughtworks.springbootemployee.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchInsertBenchmark {
+    @Param({"1000"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private EmployeeRepository employeeRepository;
+    private List<EmployeeRequest> employeeRequests;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(SpringBootEmployeeApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:batch;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+        employeeService = context.getBean(EmployeeService.class);
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        employeeRequests = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            EmployeeRequest employeeRequest = new EmployeeRequest();
+            employeeRequest.setName("employee" + i);
+            employeeRequest.setAge(18 + i % 40);
+            employeeRequest.setGender(i % 2 == 0 ? "Male" : "Female");
+            employeeRequest.setSalary(3000.0 + i);
+            employeeRequests.add(employeeRequest);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void clean() {
+        employeeRepository.deleteAllInBatch();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void addEmployeeOneByOne(Blackhole blackhole) {
+        for (EmployeeRequest employeeRequest : employeeRequests) {
+            blackhole.consume(employeeService.addEmployee(employeeRequest));
+        }
+    }
+
+    @Benchmark
+    public List<EmployeeBatchResult> addEmployeesInBatch() {
+        return employeeService.addEmployees(employeeRequests.iterator());
+    }
+}
@@ -0,0 +1,104 @@
+package com.thoughtworks.springbootemployee;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thoughtworks.springbootemployee.common.JsonResult;
+import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.mapper.EmployeeMapper;
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static com.thoughtworks.springbootemployee.common.JsonResult.success;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncodingBenchmark {
+    private static final TypeReference<JsonResult<List<EmployeeResponse>>> EMPLOYEES =
+            new TypeReference<JsonResult<List<EmployeeResponse>>>() {
+            };
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    @Param("10000")
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private JsonResult<List<EmployeeResponse>> employees;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        switch (format) {
+            case "smile":
+                objectMapper = Jackson2ObjectMapperBuilder.smile().build();
+                break;
+            case "cbor":
+                objectMapper = Jackson2ObjectMapperBuilder.cbor().build();
+                break;
+            default:
+                objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        }
+        List<EmployeeResponse> employeeResponses = new ArrayList<>();
+        for (int i = 1; i <= size; i++) {
+            Employee employee = new Employee(i, "employee" + i, 18 + i % 40, i % 2 == 0 ? "Male" : "Female", 3000.0 + i, i % 100);
+            employeeResponses.add(EmployeeMapper.toEmployeeResponse(employee));
+        }
+        employees = success(employeeResponses);
+        payload = encode();
+    }
+
+    @Benchmark
+    public byte[] encode(PayloadSize payloadSize) throws IOException {
+        byte[] encoded = encode();
+        payloadSize.record(encoded.length);
+        return encoded;
+    }
+
+    private byte[] encode() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(size * 64);
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes) : bytes) {
+            objectMapper.writeValue(out, employees);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public JsonResult<List<EmployeeResponse>> decode(PayloadSize payloadSize) throws IOException {
+        payloadSize.record(payload.length);
+        try (InputStream in = gzip ? new GZIPInputStream(new ByteArrayInputStream(payload)) : new ByteArrayInputStream(payload)) {
+            return objectMapper.readValue(in, EMPLOYEES);
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+        public long payloadBytes;
+        public long payloads;
+
+        void record(int bytes) {
+            payloadBytes += bytes;
+            payloads++;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.thoughtworks.springbootemployee;
+
+import com.thoughtworks.springbootemployee.dto.CompanyResponse;
+import com.thoughtworks.springbootemployee.dto.EmployeeRequest;
+import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.mapper.CompanyMapper;
+import com.thoughtworks.springbootemployee.mapper.EmployeeMapper;
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.BeanUtils;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    private Employee employee;
+    private EmployeeRequest employeeRequest;
+    private Company company;
+
+    @Setup
+    public void setUp() {
+        employee = new Employee(1, "xiaoyi", 18, "Male", 30000.0, 1);
+        employeeRequest = new EmployeeRequest(1, "xiaoyi", 18, "Male", 30000.0, 1);
+        company = new Company(1, "huawei", 1, Collections.singletonList(employee));
+    }
+
+    @Benchmark
+    public EmployeeResponse toEmployeeResponse() {
+        return EmployeeMapper.toEmployeeResponse(employee);
+    }
+
+    @Benchmark
+    public EmployeeResponse toEmployeeResponseReflective() {
+        EmployeeResponse employeeResponse = new EmployeeResponse();
+        BeanUtils.copyProperties(employee, employeeResponse);
+        return employeeResponse;
+    }
+
+    @Benchmark
+    public Employee toEmployee() {
+        return EmployeeMapper.toEmployee(employeeRequest);
+    }
+
+    @Benchmark
+    public Employee toEmployeeReflective() {
+        Employee target = new Employee();
+        BeanUtils.copyProperties(employeeRequest, target);
+        return target;
+    }
+
+    @Benchmark
+    public CompanyResponse toCompanyResponse() {
+        return CompanyMapper.toCompanyResponse(company);
+    }
+
+    @Benchmark
+    public CompanyResponse toCompanyResponseReflective() {
+        CompanyResponse companyResponse = new CompanyResponse();
+        BeanUtils.copyProperties(company, companyResponse);
+        return companyResponse;
+    }
+}
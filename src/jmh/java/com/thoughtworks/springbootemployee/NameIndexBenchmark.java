@@ -0,0 +1,45 @@
+package com.thoughtworks.springbootemployee;
+
+import com.thoughtworks.springbootemployee.common.NameIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class NameIndexBenchmark {
+    private static final String[] SYLLABLES = {"xiao", "ming", "hua", "li", "zhang", "wang", "chen", "yu", "jun", "fei",
+            "lan", "qing", "hong", "wei", "tao", "jie", "ping", "bo", "na", "ting"};
+
+    @Param("1000000")
+    private int names;
+
+    @Param({"xi", "zhang", "mingwei", "ngwe", "qqq"})
+    private String query;
+
+    private NameIndex nameIndex;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        nameIndex = new NameIndex();
+        for (int id = 1; id <= names; id++) {
+            StringBuilder name = new StringBuilder();
+            for (int syllable = 2 + random.nextInt(3); syllable > 0; syllable--) {
+                name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            nameIndex.put(id, name.toString());
+        }
+    }
+
+    @Benchmark
+    public List<NameIndex.Hit> typeahead() {
+        return nameIndex.search(query, 10);
+    }
+}
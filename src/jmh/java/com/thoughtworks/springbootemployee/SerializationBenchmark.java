@@ -0,0 +1,56 @@
+package com.thoughtworks.springbootemployee;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thoughtworks.springbootemployee.common.JsonResult;
+import com.thoughtworks.springbootemployee.dto.CompanyResponse;
+import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.mapper.EmployeeMapper;
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.thoughtworks.springbootemployee.common.JsonResult.success;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+    @Param({"10", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private JsonResult<List<EmployeeResponse>> employees;
+    private JsonResult<List<CompanyResponse>> companies;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<EmployeeResponse> employeeResponses = new ArrayList<>();
+        List<CompanyResponse> companyResponses = new ArrayList<>();
+        for (int i = 1; i <= size; i++) {
+            Employee employee = new Employee(i, "employee" + i, 18 + i % 40, i % 2 == 0 ? "Male" : "Female", 3000.0 + i, i);
+            employeeResponses.add(EmployeeMapper.toEmployeeResponse(employee));
+            companyResponses.add(new CompanyResponse(i, "company" + i, 1, new ArrayList<>()));
+        }
+        employees = success(employeeResponses);
+        companies = success(companyResponses);
+    }
+
+    @Benchmark
+    public byte[] serializeEmployees() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public byte[] serializeCompanies() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(companies);
+    }
+}
@@ -0,0 +1,129 @@
+package com.thoughtworks.springbootemployee;
+
+import com.thoughtworks.springbootemployee.dao.CompanyRepository;
+import com.thoughtworks.springbootemployee.dao.EmployeeRepository;
+import com.thoughtworks.springbootemployee.dto.CompanyResponse;
+import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.service.CompanyService;
+import com.thoughtworks.springbootemployee.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+    private static final int COMPANIES = 10;
+    private static final int EMPLOYEES_PER_COMPANY = 100;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private CompanyService companyService;
+    private Cache employeeCache;
+    private Cache companyCache;
+    private List<Integer> employeeIds;
+    private List<Integer> companyIds;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(SpringBootEmployeeApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.enable_lazy_load_no_trans=true",
+                        "--logging.level.root=WARN");
+        employeeService = context.getBean(EmployeeService.class);
+        companyService = context.getBean(CompanyService.class);
+        employeeCache = context.getBean(CacheManager.class).getCache("employees");
+        companyCache = context.getBean(CacheManager.class).getCache("companies");
+        seed(context.getBean(CompanyRepository.class), context.getBean(EmployeeRepository.class));
+    }
+
+    private void seed(CompanyRepository companyRepository, EmployeeRepository employeeRepository) {
+        employeeIds = new ArrayList<>();
+        companyIds = new ArrayList<>();
+        for (int c = 0; c < COMPANIES; c++) {
+            Company company = companyRepository.save(new Company(0, "company" + c, EMPLOYEES_PER_COMPANY, null));
+            companyIds.add(company.getId());
+            List<Employee> employees = new ArrayList<>();
+            for (int e = 0; e < EMPLOYEES_PER_COMPANY; e++) {
+                employees.add(new Employee(0, "employee" + c + "-" + e, 18 + e % 40,
+                        e % 2 == 0 ? "Male" : "Female", 3000.0 + e, company.getId()));
+            }
+            employeeRepository.saveAll(employees).forEach(employee -> employeeIds.add(employee.getId()));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private static int pick(List<Integer> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    @Benchmark
+    public EmployeeResponse getEmployeeByIdFromCache() {
+        return employeeService.getEmployeeById(pick(employeeIds));
+    }
+
+    @Benchmark
+    public EmployeeResponse getEmployeeByIdFromDatabase() {
+        int employeeId = pick(employeeIds);
+        employeeCache.evict(employeeId);
+        return employeeService.getEmployeeById(employeeId);
+    }
+
+    @Benchmark
+    public List<EmployeeResponse> getAllEmployees() {
+        return employeeService.getAllEmployees();
+    }
+
+    @Benchmark
+    public List<EmployeeResponse> getEmployeesByGender() {
+        return employeeService.getEmployeesByGender("Male");
+    }
+
+    @Benchmark
+    public Page<Employee> getPageEmployees() {
+        return employeeService.getPageEmployees(ThreadLocalRandom.current().nextInt(10), 50);
+    }
+
+    @Benchmark
+    public CompanyResponse getCompanyByIdFromCache() {
+        return companyService.getCompanyById(pick(companyIds));
+    }
+
+    @Benchmark
+    public CompanyResponse getCompanyByIdFromDatabase() {
+        int companyId = pick(companyIds);
+        companyCache.evict(companyId);
+        return companyService.getCompanyById(companyId);
+    }
+
+    @Benchmark
+    public List<CompanyResponse> getAllCompanies() {
+        return companyService.getAllCompanies();
+    }
+
+    @Benchmark
+    public List<EmployeeResponse> getAllEmployeeByCompanyId() {
+        return companyService.getAllEmployeeByCompanyId(pick(companyIds));
+    }
+}
@@ -0,0 +1,283 @@
+package com.thoughtworks.springbootemployee;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LoadTest {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final List<String> H2_FILE_SUFFIXES = Arrays.asList(".mv.db", ".trace.db");
+
+    private final String baseUrl;
+    private final int concurrency;
+    private final int durationSeconds;
+    private final int warmupSeconds;
+    private final double writeRatio;
+    private final List<Integer> employeeIds = new ArrayList<>();
+    private final List<Integer> companyIds = new ArrayList<>();
+    private final Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+    private int datasetCompanies;
+    private int datasetEmployees;
+    private volatile boolean recording;
+
+    public LoadTest(String baseUrl, int concurrency, int durationSeconds, int warmupSeconds, double writeRatio) {
+        this.baseUrl = baseUrl;
+        this.concurrency = concurrency;
+        this.durationSeconds = durationSeconds;
+        this.warmupSeconds = warmupSeconds;
+        this.writeRatio = writeRatio;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("loadtest.baseUrl");
+        ConfigurableApplicationContext context = null;
+        if (baseUrl == null) {
+            String database = System.getProperty("loadtest.database", "./h2/loadtestdb");
+            for (String suffix : H2_FILE_SUFFIXES) {
+                Files.deleteIfExists(Paths.get(database + suffix));
+            }
+            context = new SpringApplicationBuilder(SpringBootEmployeeApplication.class)
+                    .run("--server.port=0",
+                            "--spring.datasource.url=jdbc:h2:file:" + database,
+                            "--spring.jpa.show-sql=false",
+                            "--logging.level.root=WARN");
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+        try {
+            LoadTest loadTest = new LoadTest(baseUrl,
+                    Integer.getInteger("loadtest.concurrency", 8),
+                    Integer.getInteger("loadtest.duration", 30),
+                    Integer.getInteger("loadtest.warmup", 5),
+                    Double.parseDouble(System.getProperty("loadtest.writeRatio", "0.1")));
+            loadTest.seed(Integer.getInteger("loadtest.companies", 20), Integer.getInteger("loadtest.employeesPerCompany", 50));
+            ObjectNode report = loadTest.run();
+            File reportFile = new File(System.getProperty("loadtest.report", "loadtest-result.json"));
+            reportFile.getAbsoluteFile().getParentFile().mkdirs();
+            OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(reportFile, report);
+            System.out.println(OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(report.get("endpoints")));
+            System.out.println("Report written to " + reportFile.getAbsolutePath());
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private void seed(int companies, int employeesPerCompany) throws IOException {
+        for (int c = 0; c < companies; c++) {
+            JsonNode company = call("POST", "/companies",
+                    "{\"id\":0,\"companyName\":\"loadtest" + c + "\",\"employeesNumber\":" + employeesPerCompany + "}").body;
+            int companyId = company.path("data").path("id").asInt();
+            companyIds.add(companyId);
+            StringBuilder employees = new StringBuilder("[");
+            for (int e = 0; e < employeesPerCompany; e++) {
+                employees.append(e == 0 ? "" : ",").append(employeeJson(companyId));
+            }
+            JsonNode results = call("POST", "/employees/batch", employees.append("]").toString()).body;
+            results.path("data").forEach(result -> employeeIds.add(result.path("id").asInt()));
+        }
+        JsonNode dataset = call("GET", "/companies", null).body.path("data");
+        datasetCompanies = dataset.size();
+        dataset.forEach(company -> datasetEmployees += company.path("employees").size());
+    }
+
+    private ObjectNode run() throws InterruptedException {
+        register("GET /employees?limit", false, 10, () -> call("GET", "/employees?limit=50", null));
+        register("GET /employees/{id}", false, 30, () -> call("GET", "/employees/" + pick(employeeIds), null));
+        register("GET /employees?gender", false, 5, () -> call("GET", "/employees?gender=Male", null));
+        register("GET /companies", false, 5, () -> call("GET", "/companies", null));
+        register("GET /companies/{id}", false, 20, () -> call("GET", "/companies/" + pick(companyIds), null));
+        register("GET /companies/{id}/employees?limit", false, 10,
+                () -> call("GET", "/companies/" + pick(companyIds) + "/employees?limit=50", null));
+        register("POST /employees", true, 1, () -> call("POST", "/employees", employeeJson(pick(companyIds))));
+        register("PUT /employees/{id}", true, 1, () -> {
+            int employeeId = pick(employeeIds);
+            return call("PUT", "/employees/" + employeeId, employeeJson(pick(companyIds)).replace("\"id\":0", "\"id\":" + employeeId));
+        });
+
+        List<Endpoint> reads = new ArrayList<>();
+        List<Endpoint> writes = new ArrayList<>();
+        endpoints.values().forEach(endpoint -> {
+            for (int i = 0; i < endpoint.weight; i++) {
+                (endpoint.write ? writes : reads).add(endpoint);
+            }
+        });
+
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds + durationSeconds);
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            executor.execute(() -> {
+                while (System.nanoTime() < end) {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    List<Endpoint> candidates = random.nextDouble() < writeRatio ? writes : reads;
+                    candidates.get(random.nextInt(candidates.size())).invoke();
+                }
+            });
+        }
+        TimeUnit.SECONDS.sleep(warmupSeconds);
+        endpoints.values().forEach(Endpoint::reset);
+        recording = true;
+        long start = System.nanoTime();
+        executor.shutdown();
+        executor.awaitTermination(durationSeconds + 60L, TimeUnit.SECONDS);
+        recording = false;
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        return report(elapsedSeconds);
+    }
+
+    private ObjectNode report(double elapsedSeconds) {
+        ObjectNode report = OBJECT_MAPPER.createObjectNode();
+        report.putObject("config")
+                .put("baseUrl", baseUrl)
+                .put("concurrency", concurrency)
+                .put("durationSeconds", durationSeconds)
+                .put("warmupSeconds", warmupSeconds)
+                .put("writeRatio", writeRatio)
+                .put("seedCompanies", companyIds.size())
+                .put("seedEmployees", employeeIds.size())
+                .put("datasetCompanies", datasetCompanies)
+                .put("datasetEmployees", datasetEmployees);
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        ObjectNode endpointsNode = report.putObject("endpoints");
+        for (Endpoint endpoint : endpoints.values()) {
+            putStats(endpointsNode.putObject(endpoint.name), endpoint.latencies, endpoint.errors.sum(), elapsedSeconds);
+            total.add(endpoint.latencies);
+            totalErrors += endpoint.errors.sum();
+        }
+        putStats(report.putObject("total"), total, totalErrors, elapsedSeconds);
+        return report;
+    }
+
+    private static void putStats(ObjectNode node, Histogram latencies, long errors, double elapsedSeconds) {
+        long count = latencies.getTotalCount();
+        node.put("count", count)
+                .put("errors", errors)
+                .put("errorRate", count == 0 ? 0 : (double) errors / count)
+                .put("throughput", count / elapsedSeconds)
+                .put("p50Ms", latencies.getValueAtPercentile(50) / 1000.0)
+                .put("p90Ms", latencies.getValueAtPercentile(90) / 1000.0)
+                .put("p99Ms", latencies.getValueAtPercentile(99) / 1000.0)
+                .put("p999Ms", latencies.getValueAtPercentile(99.9) / 1000.0)
+                .put("maxMs", latencies.getMaxValue() / 1000.0);
+    }
+
+    private void register(String name, boolean write, int weight, Request request) {
+        endpoints.put(name, new Endpoint(name, write, weight, request));
+    }
+
+    private static String employeeJson(int companyId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return "{\"id\":0,\"name\":\"employee" + random.nextInt(1_000_000) + "\",\"age\":" + (18 + random.nextInt(45))
+                + ",\"gender\":\"" + (random.nextBoolean() ? "Male" : "Female") + "\",\"salary\":"
+                + (3000 + random.nextInt(30000)) + ",\"companyId\":" + companyId + "}";
+    }
+
+    private static int pick(List<Integer> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private Response call(String method, String path, String body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+        connection.setRequestMethod(method);
+        connection.setRequestProperty("Accept", "application/json");
+        if (body != null) {
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json");
+            try (OutputStream outputStream = connection.getOutputStream()) {
+                outputStream.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        int status = connection.getResponseCode();
+        InputStream inputStream = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        if (inputStream != null) {
+            try (InputStream in = inputStream) {
+                byte[] buffer = new byte[8192];
+                for (int read; (read = in.read(buffer)) != -1; ) {
+                    content.write(buffer, 0, read);
+                }
+            }
+        }
+        JsonNode json = content.size() == 0 ? OBJECT_MAPPER.createObjectNode() : OBJECT_MAPPER.readTree(content.toByteArray());
+        return new Response(status, json);
+    }
+
+    private interface Request {
+        Response send() throws IOException;
+    }
+
+    private static class Response {
+        private final int status;
+        private final JsonNode body;
+
+        private Response(int status, JsonNode body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+
+    private class Endpoint {
+        private final String name;
+        private final boolean write;
+        private final int weight;
+        private final Request request;
+        private final Histogram latencies = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+        private final LongAdder errors = new LongAdder();
+
+        private Endpoint(String name, boolean write, int weight, Request request) {
+            this.name = name;
+            this.write = write;
+            this.weight = weight;
+            this.request = request;
+        }
+
+        private void invoke() {
+            long start = System.nanoTime();
+            boolean failed;
+            try {
+                failed = request.send().status >= 400;
+            } catch (IOException | RuntimeException e) {
+                failed = true;
+            }
+            long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start), latencies.getHighestTrackableValue());
+            if (recording) {
+                latencies.recordValue(micros);
+                if (failed) {
+                    errors.increment();
+                }
+            }
+        }
+
+        private void reset() {
+            latencies.reset();
+            errors.reset();
+        }
+    }
+}
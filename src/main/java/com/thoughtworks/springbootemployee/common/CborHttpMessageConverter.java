@@ -0,0 +1,13 @@
+package com.thoughtworks.springbootemployee.common;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CborHttpMessageConverter extends MappingJackson2CborHttpMessageConverter {
+    public CborHttpMessageConverter(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        super(objectMapperBuilder.createXmlMapper(false).factory(new CBORFactory()).build());
+    }
+}
@@ -0,0 +1,71 @@
+package com.thoughtworks.springbootemployee.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public class Cursor {
+    public static final int MAX_LIMIT = 1000;
+    private static final String KEYSET_NULL = "~";
+    private static final String KEYSET_VALUE = "=";
+
+    public static String encode(int lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static int decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(ExceptionMessage.IllegalArgumentException.getErrorMsg(), e);
+        }
+    }
+
+    public static String encodeKeyset(int lastId, Object lastValue) {
+        String keyset = lastId + (lastValue == null ? KEYSET_NULL : KEYSET_VALUE + lastValue);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(keyset.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Keyset decodeKeyset(String cursor) {
+        try {
+            String keyset = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = keyset.indexOf(KEYSET_VALUE);
+            if (separator < 0) {
+                if (!keyset.endsWith(KEYSET_NULL)) {
+                    throw new IllegalArgumentException(ExceptionMessage.IllegalArgumentException.getErrorMsg());
+                }
+                return new Keyset(Integer.parseInt(keyset.substring(0, keyset.length() - 1)), null);
+            }
+            return new Keyset(Integer.parseInt(keyset.substring(0, separator)), keyset.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(ExceptionMessage.IllegalArgumentException.getErrorMsg(), e);
+        }
+    }
+
+    public static void checkLimit(int limit) {
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException(ExceptionMessage.IllegalArgumentException.getErrorMsg());
+        }
+    }
+
+    public static class Keyset {
+        private final int lastId;
+        private final String lastValue;
+
+        Keyset(int lastId, String lastValue) {
+            this.lastId = lastId;
+            this.lastValue = lastValue;
+        }
+
+        public int getLastId() {
+            return lastId;
+        }
+
+        public String getLastValue() {
+            return lastValue;
+        }
+    }
+}
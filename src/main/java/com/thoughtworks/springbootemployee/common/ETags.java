@@ -0,0 +1,32 @@
+package com.thoughtworks.springbootemployee.common;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+public class ETags {
+    private static final String WEAK_PREFIX = "W/";
+
+    public static String of(long... parts) {
+        return Arrays.stream(parts).mapToObj(String::valueOf).collect(Collectors.joining(".", "\"", "\""));
+    }
+
+    public static String withSuffix(String eTag, String suffix) {
+        return eTag.substring(0, eTag.length() - 1) + "-" + suffix + "\"";
+    }
+
+    public static boolean matches(String header, String eTag) {
+        if (header == null) {
+            return false;
+        }
+        for (String candidate : header.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith(WEAK_PREFIX)) {
+                value = value.substring(WEAK_PREFIX.length());
+            }
+            if ("*".equals(value) || value.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
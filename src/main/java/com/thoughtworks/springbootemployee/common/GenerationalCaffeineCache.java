@@ -0,0 +1,74 @@
+package com.thoughtworks.springbootemployee.common;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class GenerationalCaffeineCache extends CaffeineCache {
+    private final AtomicLong generation = new AtomicLong();
+
+    public GenerationalCaffeineCache(String name, Cache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        long loadGeneration = generation.get();
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        super.put(key, value);
+        if (generation.get() != loadGeneration) {
+            super.evict(key);
+        }
+        return value;
+    }
+
+    @Override
+    public void evict(Object key) {
+        invalidateNowAndAfterCompletion(() -> super.evict(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        invalidateNowAndAfterCompletion(() -> super.evict(key));
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        invalidateNowAndAfterCompletion(super::clear);
+    }
+
+    @Override
+    public boolean invalidate() {
+        invalidateNowAndAfterCompletion(super::clear);
+        return true;
+    }
+
+    private void invalidateNowAndAfterCompletion(Runnable invalidation) {
+        generation.incrementAndGet();
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    generation.incrementAndGet();
+                    invalidation.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.thoughtworks.springbootemployee.common;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component("cacheManager")
+public class GenerationalCaffeineCacheManager extends CaffeineCacheManager {
+    public GenerationalCaffeineCacheManager(@Value("${spring.cache.cache-names:employees,companies}") List<String> cacheNames,
+                                            @Value("${spring.cache.caffeine.spec:}") String cacheSpecification) {
+        setCacheSpecification(cacheSpecification);
+        setCacheNames(cacheNames);
+    }
+
+    @Override
+    protected Cache createCaffeineCache(String name) {
+        return new GenerationalCaffeineCache(name, createNativeCaffeineCache(name), isAllowNullValues());
+    }
+}
@@ -2,7 +2,9 @@ package com.thoughtworks.springbootemployee.common;
 
 import com.thoughtworks.springbootemployee.exception.IllegalOperationException;
 import com.thoughtworks.springbootemployee.exception.NoSuchDataException;
+import com.thoughtworks.springbootemployee.exception.PreconditionFailedException;
 import org.springframework.beans.BeansException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -31,6 +33,18 @@ public class GlobalExceptionHandler {
         return http400();
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    JsonResult handlePreconditionFailedException() {
+        return http412();
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    JsonResult handleOptimisticLockingFailureException() {
+        return http409();
+    }
+
     @ExceptionHandler(BeansException.class)
     @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
     JsonResult handleTransBeansException() {
@@ -0,0 +1,13 @@
+package com.thoughtworks.springbootemployee.common;
+
+import java.util.Collection;
+
+public class IdList {
+    public static final int MAX_SIZE = 1000;
+
+    public static void checkSize(Collection<Integer> ids) {
+        if (ids.isEmpty() || ids.size() > MAX_SIZE) {
+            throw new IllegalArgumentException(ExceptionMessage.IllegalArgumentException.getErrorMsg());
+        }
+    }
+}
@@ -96,6 +96,20 @@ public class JsonResult<T> {
         return ret;
     }
 
+    public static <T> JsonResult<T> http409() {
+        JsonResult<T> ret = new JsonResult<>();
+        ret.setCode(JsonReturnCode.CONFLICT.getCode());
+        ret.setMsg(JsonReturnCode.CONFLICT.getDesc());
+        return ret;
+    }
+
+    public static <T> JsonResult<T> http412() {
+        JsonResult<T> ret = new JsonResult<>();
+        ret.setCode(JsonReturnCode.PRECONDITION_FAILED.getCode());
+        ret.setMsg(JsonReturnCode.PRECONDITION_FAILED.getDesc());
+        return ret;
+    }
+
     public static <T> JsonResult<T> http503() {
         JsonResult<T> ret = new JsonResult<>();
         ret.setCode(JsonReturnCode.SERVICE_UNAVAILABLE.getCode());
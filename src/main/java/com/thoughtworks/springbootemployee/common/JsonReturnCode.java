@@ -6,6 +6,8 @@ public enum JsonReturnCode {
     SERVICE_UNAVAILABLE("503", "Unable to provide services"),
     ACCESS_ERROR("403", "Access forbidden"),
     NOT_FOUND("404", "The resource does not exist"),
+    CONFLICT("409", "The resource was modified concurrently"),
+    PRECONDITION_FAILED("412", "The resource does not match the given version"),
     ILLEGAL_ARGUMEN("400", "Error parameters");
     private String code;
     private String desc;
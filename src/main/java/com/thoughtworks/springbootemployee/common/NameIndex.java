@@ -0,0 +1,261 @@
+package com.thoughtworks.springbootemployee.common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class NameIndex {
+    private static final char BOUNDARY = '\u0000';
+    private static final int NO_ID = Integer.MIN_VALUE;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private int[] ids = new int[16];
+    private String[] names = new String[16];
+    private int size;
+
+    public NameIndex() {
+        Arrays.fill(ids, NO_ID);
+    }
+
+    public void put(int id, String name) {
+        if (name == null) {
+            remove(id);
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int slot = slotOf(id);
+            if (ids[slot] == id) {
+                if (names[slot].equals(name)) {
+                    return;
+                }
+                forEachTrigram(names[slot], trigram -> removePosting(trigram, id));
+                names[slot] = name;
+            } else {
+                ids[slot] = id;
+                names[slot] = name;
+                if (++size * 2 > ids.length) {
+                    resize();
+                }
+            }
+            forEachTrigram(name, trigram -> postings.computeIfAbsent(trigram, key -> new Postings()).add(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotOf(id);
+            if (ids[slot] != id) {
+                return;
+            }
+            forEachTrigram(names[slot], trigram -> removePosting(trigram, id));
+            deleteSlot(slot);
+            size--;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Hit> search(String query, int limit) {
+        List<Hit> hits = new ArrayList<>(Math.min(limit, 64));
+        if (query == null || query.isEmpty() || limit <= 0) {
+            return hits;
+        }
+        lock.readLock().lock();
+        try {
+            collect(BOUNDARY + "" + BOUNDARY + query, query, true, hits, limit);
+            if (hits.size() < limit && query.length() >= 3) {
+                collect(query, query, false, hits, limit);
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void collect(String padded, String query, boolean prefix, List<Hit> hits, int limit) {
+        List<Postings> lists = new ArrayList<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            Postings list = postings.get(trigram(padded, i));
+            if (list == null) {
+                return;
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+        Postings smallest = lists.get(0);
+        for (int i = 0; i < smallest.size && hits.size() < limit; i++) {
+            int id = smallest.ids[i];
+            if (!containsInAll(lists, id)) {
+                continue;
+            }
+            String name = names[slotOf(id)];
+            boolean startsWith = name.regionMatches(true, 0, query, 0, query.length());
+            if (prefix ? startsWith : !startsWith && containsIgnoreCase(name, query)) {
+                hits.add(new Hit(id, name));
+            }
+        }
+    }
+
+    private static boolean containsInAll(List<Postings> lists, int id) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (lists.get(i).indexOf(id) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean containsIgnoreCase(String name, String query) {
+        for (int i = 0; i + query.length() <= name.length(); i++) {
+            if (name.regionMatches(true, i, query, 0, query.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void removePosting(long trigram, int id) {
+        Postings list = postings.get(trigram);
+        if (list != null && list.remove(id) && list.size == 0) {
+            postings.remove(trigram);
+        }
+    }
+
+    private static void forEachTrigram(String name, TrigramConsumer consumer) {
+        String padded = BOUNDARY + "" + BOUNDARY + name;
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            consumer.accept(trigram(padded, i));
+        }
+    }
+
+    private static long trigram(String text, int start) {
+        return (long) Character.toLowerCase(text.charAt(start)) << 32
+                | (long) Character.toLowerCase(text.charAt(start + 1)) << 16
+                | Character.toLowerCase(text.charAt(start + 2));
+    }
+
+    private int slotOf(int id) {
+        int mask = ids.length - 1;
+        int slot = mix(id) & mask;
+        while (ids[slot] != NO_ID && ids[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void deleteSlot(int slot) {
+        int mask = ids.length - 1;
+        int hole = slot;
+        for (int next = (hole + 1) & mask; ids[next] != NO_ID; next = (next + 1) & mask) {
+            int home = mix(ids[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                ids[hole] = ids[next];
+                names[hole] = names[next];
+                hole = next;
+            }
+        }
+        ids[hole] = NO_ID;
+        names[hole] = null;
+    }
+
+    private void resize() {
+        int[] oldIds = ids;
+        String[] oldNames = names;
+        ids = new int[oldIds.length * 2];
+        names = new String[oldNames.length * 2];
+        Arrays.fill(ids, NO_ID);
+        for (int i = 0; i < oldIds.length; i++) {
+            if (oldIds[i] != NO_ID) {
+                int slot = slotOf(oldIds[i]);
+                ids[slot] = oldIds[i];
+                names[slot] = oldNames[i];
+            }
+        }
+    }
+
+    private static int mix(int id) {
+        int hash = id * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private interface TrigramConsumer {
+        void accept(long trigram);
+    }
+
+    private static class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        private void add(int id) {
+            if (size > 0 && ids[size - 1] >= id) {
+                int index = indexOf(id);
+                if (index >= 0) {
+                    return;
+                }
+                insert(-index - 1, id);
+                return;
+            }
+            insert(size, id);
+        }
+
+        private void insert(int index, int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            ids[index] = id;
+            size++;
+        }
+
+        private boolean remove(int id) {
+            int index = indexOf(id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        private int indexOf(int id) {
+            return Arrays.binarySearch(ids, 0, size, id);
+        }
+    }
+
+    public static class Hit {
+        private final int id;
+        private final String name;
+
+        Hit(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.thoughtworks.springbootemployee.common;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+public class RequestCoalescer<K, V> {
+    private final Function<Set<K>, Map<K, V>> batchLoader;
+    private final int maxBatchSize;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private Batch<K, V> pending;
+
+    public RequestCoalescer(Function<Set<K>, Map<K, V>> batchLoader, int maxBatchSize) {
+        this.batchLoader = batchLoader;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public V load(K key, long windowNanos) {
+        inFlight.incrementAndGet();
+        try {
+            Batch<K, V> batch;
+            CompletableFuture<V> future;
+            boolean leader;
+            synchronized (this) {
+                leader = pending == null;
+                if (leader) {
+                    pending = new Batch<>(Thread.currentThread());
+                }
+                batch = pending;
+                future = batch.futures.computeIfAbsent(key, k -> new CompletableFuture<>());
+                if (batch.futures.size() >= maxBatchSize) {
+                    pending = null;
+                    LockSupport.unpark(batch.leader);
+                }
+            }
+            if (leader) {
+                if (windowNanos > 0 && inFlight.get() > 1) {
+                    LockSupport.parkNanos(this, windowNanos);
+                }
+                synchronized (this) {
+                    if (pending == batch) {
+                        pending = null;
+                    }
+                }
+                batch.dispatch(batchLoader);
+            }
+            return join(future);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static class Batch<K, V> {
+        private final Thread leader;
+        private final Map<K, CompletableFuture<V>> futures = new LinkedHashMap<>();
+
+        private Batch(Thread leader) {
+            this.leader = leader;
+        }
+
+        private void dispatch(Function<Set<K>, Map<K, V>> batchLoader) {
+            try {
+                Map<K, V> values = batchLoader.apply(Collections.unmodifiableSet(futures.keySet()));
+                futures.forEach((key, future) -> future.complete(values.get(key)));
+            } catch (RuntimeException | Error e) {
+                futures.values().forEach(future -> future.completeExceptionally(e));
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.thoughtworks.springbootemployee.common;
+
+import java.util.Map;
+
+public class RequestParams {
+    public static void checkExclusive(Map<String, ?> params) {
+        if (params.size() > 1) {
+            throw new IllegalArgumentException(ExceptionMessage.IllegalArgumentException.getErrorMsg());
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.thoughtworks.springbootemployee.common;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.thoughtworks.springbootemployee.service.DataChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+@Component
+public class ResponseCache {
+    private static final String GZIP = "gzip";
+    private static final String ANY_ENCODING = "*";
+    private static final String QUALITY = "q=";
+
+    private final Map<MediaType, ObjectMapper> objectMappers = new LinkedHashMap<>();
+    private final Cache<String, Entry> entries;
+    private final AtomicLong writeVersion = new AtomicLong();
+
+    public ResponseCache(ObjectMapper objectMapper, CborHttpMessageConverter cborHttpMessageConverter,
+                         SmileHttpMessageConverter smileHttpMessageConverter,
+                         @Value("${response-cache.maximum-weight-bytes:67108864}") long maximumWeightBytes) {
+        this.objectMappers.put(MediaType.APPLICATION_JSON, objectMapper);
+        this.objectMappers.put(MediaType.APPLICATION_CBOR, cborHttpMessageConverter.getObjectMapper());
+        this.objectMappers.put(new MediaType("application", "x-jackson-smile"), smileHttpMessageConverter.getObjectMapper());
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maximumWeightBytes)
+                .weigher((String entryKey, Entry entry) -> entry.weight())
+                .build();
+    }
+
+    public ResponseEntity<byte[]> get(String key, String accept, String ifNoneMatch, String acceptEncoding, Supplier<?> loader) {
+        MediaType mediaType = negotiate(accept);
+        if (mediaType == null) {
+            return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+        }
+        String entryKey = mediaType + " " + key;
+        long version = writeVersion.get();
+        Entry entry = entries.getIfPresent(entryKey);
+        if (entry == null || entry.version != version) {
+            entry = new Entry(version, serialize(objectMappers.get(mediaType), loader.get()));
+            entries.put(entryKey, entry);
+        }
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String eTag = gzip ? entry.gzipETag : entry.eTag;
+        if (ETags.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(mediaType)
+                .eTag(eTag)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            byte[] compressed = entry.gzip;
+            if (compressed == null) {
+                compressed = entry.gzip();
+                entries.asMap().replace(entryKey, entry, entry);
+            }
+            return response.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(compressed);
+        }
+        return response.body(entry.json);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataChanged(DataChangedEvent event) {
+        invalidateAll();
+    }
+
+    public void invalidateAll() {
+        writeVersion.incrementAndGet();
+    }
+
+    private MediaType negotiate(String accept) {
+        List<MediaType> mediaRanges = accept == null || accept.trim().isEmpty()
+                ? Collections.singletonList(MediaType.ALL) : MediaType.parseMediaTypes(accept);
+        MediaType negotiated = null;
+        double negotiatedQuality = 0;
+        for (MediaType mediaType : objectMappers.keySet()) {
+            MediaType mediaRange = null;
+            for (MediaType candidate : mediaRanges) {
+                if (candidate.includes(mediaType) && (mediaRange == null || mediaRange.includes(candidate))) {
+                    mediaRange = candidate;
+                }
+            }
+            if (mediaRange != null && mediaRange.getQualityValue() > negotiatedQuality) {
+                negotiated = mediaType;
+                negotiatedQuality = mediaRange.getQualityValue();
+            }
+        }
+        return negotiated;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double anyQuality = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            String name = parameters[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < parameters.length; i++) {
+                String parameter = parameters[i].trim().toLowerCase(Locale.ROOT);
+                if (parameter.startsWith(QUALITY)) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(QUALITY.length()));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (GZIP.equals(name)) {
+                gzipQuality = quality;
+            } else if (ANY_ENCODING.equals(name)) {
+                anyQuality = quality;
+            }
+        }
+        double quality = gzipQuality != null ? gzipQuality : anyQuality != null ? anyQuality : 0;
+        return quality > 0;
+    }
+
+    private static byte[] serialize(ObjectMapper objectMapper, Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class Entry {
+        private final long version;
+        private final byte[] json;
+        private final String eTag;
+        private final String gzipETag;
+        private volatile byte[] gzip;
+
+        private Entry(long version, byte[] json) {
+            this.version = version;
+            this.json = json;
+            CRC32 crc = new CRC32();
+            crc.update(json, 0, json.length);
+            this.eTag = ETags.of(crc.getValue(), json.length);
+            this.gzipETag = ETags.withSuffix(eTag, GZIP);
+        }
+
+        private int weight() {
+            byte[] compressed = gzip;
+            return json.length + (compressed == null ? 0 : compressed.length);
+        }
+
+        private byte[] gzip() {
+            byte[] compressed = gzip;
+            if (compressed == null) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4 + 64);
+                try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+                    out.write(json);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                compressed = bytes.toByteArray();
+                gzip = compressed;
+            }
+            return compressed;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.thoughtworks.springbootemployee.common;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SmileHttpMessageConverter extends MappingJackson2SmileHttpMessageConverter {
+    public SmileHttpMessageConverter(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        super(objectMapperBuilder.createXmlMapper(false).factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,39 @@
+package com.thoughtworks.springbootemployee.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.thoughtworks.springbootemployee.common.JsonResult;
+import com.thoughtworks.springbootemployee.dto.CacheStatsResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.thoughtworks.springbootemployee.common.JsonResult.success;
+
+@RestController
+@RequestMapping("/caches")
+public class CacheController {
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @GetMapping
+    public JsonResult getCacheStats() {
+        List<CacheStatsResponse> stats = cacheManager.getCacheNames().stream()
+                .map(cacheManager::getCache)
+                .filter(CaffeineCache.class::isInstance)
+                .map(CaffeineCache.class::cast)
+                .map(cache -> {
+                    CacheStats cacheStats = cache.getNativeCache().stats();
+                    return new CacheStatsResponse(cache.getName(), cache.getNativeCache().estimatedSize(),
+                            cacheStats.hitCount(), cacheStats.missCount(), cacheStats.evictionCount(), cacheStats.hitRate());
+                })
+                .collect(Collectors.toList());
+        return success(stats);
+    }
+}
@@ -1,12 +1,24 @@
 package com.thoughtworks.springbootemployee.controller;
 
+import com.thoughtworks.springbootemployee.common.ETags;
 import com.thoughtworks.springbootemployee.common.JsonResult;
+import com.thoughtworks.springbootemployee.common.RequestParams;
+import com.thoughtworks.springbootemployee.common.ResponseCache;
+import com.thoughtworks.springbootemployee.dto.CompanyPatchRequest;
 import com.thoughtworks.springbootemployee.dto.CompanyRequest;
+import com.thoughtworks.springbootemployee.dto.CompanyResponse;
+import com.thoughtworks.springbootemployee.mapper.CompanyMapper;
 import com.thoughtworks.springbootemployee.service.CompanyService;
+import com.thoughtworks.springbootemployee.service.CompanySummaryService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 import static com.thoughtworks.springbootemployee.common.JsonResult.success;
 
 
@@ -17,10 +29,29 @@ public class CompanyController {
     @Autowired
     CompanyService companyService;
 
-    @ResponseStatus(HttpStatus.OK)
+    @Autowired
+    CompanySummaryService companySummaryService;
+
+    @Autowired
+    ResponseCache responseCache;
+
     @GetMapping("/{companyId}")
-    public JsonResult getCompanyByCompanyId(@PathVariable int companyId) {
-        return success(companyService.getCompanyById(companyId));
+    public ResponseEntity<JsonResult> getCompanyByCompanyId(@PathVariable int companyId,
+                                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String eTag = companyService.getCompanyETag(companyId);
+            if (ETags.matches(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+        }
+        CompanyResponse company = companyService.getCompanyById(companyId);
+        return ResponseEntity.ok().eTag(CompanyMapper.toETag(company)).body(success(company));
+    }
+
+    @GetMapping("/{companyId}/summary")
+    @ResponseStatus(HttpStatus.OK)
+    public JsonResult getCompanySummary(@PathVariable int companyId) {
+        return success(companySummaryService.getCompanySummary(companyId));
     }
 
     @GetMapping("/{companyId}/employees")
@@ -29,18 +60,73 @@ public class CompanyController {
         return success(companyService.getAllEmployeeByCompanyId(companyId));
     }
 
-    @GetMapping
+    @GetMapping(value = "/{companyId}/employees", params = {"fields"})
+    @ResponseStatus(HttpStatus.OK)
+    public JsonResult getAllEmployees(@PathVariable int companyId, @RequestParam List<String> fields,
+                                      @RequestParam MultiValueMap<String, String> params) {
+        RequestParams.checkExclusive(params);
+        return success(companyService.getAllEmployeeByCompanyId(companyId, fields));
+    }
+
+    @GetMapping("/{companyId}/employees/top")
+    @ResponseStatus(HttpStatus.OK)
+    public JsonResult getTopEmployees(@PathVariable int companyId, @RequestParam(defaultValue = "salary") String by,
+                                      @RequestParam(defaultValue = "10") int n) {
+        return success(companyService.getTopEmployeesByCompanyId(companyId, by, n));
+    }
+
+    @GetMapping("/employees/top")
+    @ResponseStatus(HttpStatus.OK)
+    public JsonResult getTopEmployeesPerCompany(@RequestParam(defaultValue = "salary") String by,
+                                                @RequestParam(defaultValue = "10") int n) {
+        return success(companyService.getTopEmployeesPerCompany(by, n));
+    }
+
+    @GetMapping(value = "/{companyId}/employees", params = {"page", "pageSize", "!fields"})
     @ResponseStatus(HttpStatus.OK)
-    public JsonResult getAllCompanies() {
-        return success(companyService.getAllCompanies());
+    public JsonResult getAllEmployees(@PathVariable int companyId, @RequestParam Integer page, @RequestParam Integer pageSize) {
+        return success(companyService.getPageEmployeesByCompanyId(companyId, page, pageSize));
     }
 
-    @GetMapping(params = {"page", "pageSize"})
+    @GetMapping(value = "/{companyId}/employees", params = {"limit", "!fields"})
+    @ResponseStatus(HttpStatus.OK)
+    public JsonResult getAllEmployees(@PathVariable int companyId, @RequestParam(required = false) String after,
+                                      @RequestParam int limit) {
+        return success(companyService.getEmployeesByCompanyIdAfter(companyId, after, limit));
+    }
+
+    @GetMapping
+    public ResponseEntity<byte[]> getAllCompanies(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                  @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return responseCache.get("companies", accept, ifNoneMatch, acceptEncoding, () -> success(companyService.getAllCompanies()));
+    }
+
+    @GetMapping(params = {"page", "pageSize", "!ids"})
     @ResponseStatus(HttpStatus.OK)
     public JsonResult getAllCompanies(@RequestParam Integer page, @RequestParam Integer pageSize) {
         return success(companyService.getAllCompanies(page, pageSize));
     }
 
+    @GetMapping(params = {"page", "pageSize", "slice=true", "!ids"})
+    @ResponseStatus(HttpStatus.OK)
+    public JsonResult getSliceCompanies(@RequestParam Integer page, @RequestParam Integer pageSize) {
+        return success(companyService.getSliceCompanies(page, pageSize));
+    }
+
+    @GetMapping(params = {"ids"})
+    @ResponseStatus(HttpStatus.OK)
+    public JsonResult getCompaniesByIds(@RequestParam List<Integer> ids, @RequestParam MultiValueMap<String, String> params) {
+        RequestParams.checkExclusive(params);
+        return success(companyService.getCompaniesByIds(ids));
+    }
+
+    @GetMapping(params = {"limit", "!ids"})
+    @ResponseStatus(HttpStatus.OK)
+    public JsonResult getAllCompanies(@RequestParam(required = false) String after, @RequestParam int limit) {
+        return success(companyService.getCompaniesAfter(after, limit));
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public JsonResult addCompany(@RequestBody CompanyRequest companyRequest) {
@@ -48,14 +134,22 @@ public class CompanyController {
     }
 
     @PutMapping("/{companyId}")
+    public ResponseEntity<JsonResult> updateCompany(@PathVariable Integer companyId, @RequestBody CompanyRequest companyRequest,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        CompanyResponse company = companyService.updateCompany(companyId, companyRequest, ifMatch);
+        return ResponseEntity.ok().eTag(CompanyMapper.toETag(company)).body(success(company));
+    }
+
+    @PatchMapping("/{companyId}")
     @ResponseStatus(HttpStatus.OK)
-    public JsonResult updateCompany(@PathVariable Integer companyId, @RequestBody CompanyRequest companyRequest) {
-        return success(companyService.updateCompany(companyId, companyRequest));
+    public JsonResult patchCompany(@PathVariable Integer companyId, @RequestBody CompanyPatchRequest companyPatchRequest) {
+        companyService.patchCompany(companyId, companyPatchRequest);
+        return success();
     }
 
     @DeleteMapping("/{companyId}")
     @ResponseStatus(HttpStatus.OK)
-    public void deleteCompanyById(@PathVariable Integer companyId) {
-        companyService.deleteCompanyById(companyId);
+    public JsonResult deleteCompanyById(@PathVariable Integer companyId) {
+        return success(companyService.deleteCompanyById(companyId));
     }
 }
@@ -1,39 +1,138 @@
 package com.thoughtworks.springbootemployee.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.thoughtworks.springbootemployee.common.ETags;
 import com.thoughtworks.springbootemployee.common.JsonResult;
+import com.thoughtworks.springbootemployee.common.RequestParams;
+import com.thoughtworks.springbootemployee.common.ResponseCache;
+import com.thoughtworks.springbootemployee.dto.EmployeePatchRequest;
 import com.thoughtworks.springbootemployee.dto.EmployeeRequest;
+import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.dto.EmployeeSearchRequest;
+import com.thoughtworks.springbootemployee.service.EmployeeNameSearchService;
 import com.thoughtworks.springbootemployee.service.EmployeeService;
+import com.thoughtworks.springbootemployee.service.EmployeeStatsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
 
 import static com.thoughtworks.springbootemployee.common.JsonResult.success;
 
 @RestController
 @RequestMapping("/employees")
 public class EmployeeController {
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+
     @Autowired
     EmployeeService employeeService;
 
+    @Autowired
+    EmployeeNameSearchService employeeNameSearchService;
+
+    @Autowired
+    EmployeeStatsService employeeStatsService;
+
+    @Autowired
+    ResponseCache responseCache;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
     @GetMapping
     public JsonResult getEmployees() {
         return success(employeeService.getAllEmployees());
     }
 
-    @GetMapping(params = {"page", "pageSize"})
+    @GetMapping(params = {"fields", "!ids"})
+    public JsonResult getEmployees(@RequestParam List<String> fields, @RequestParam MultiValueMap<String, String> params) {
+        RequestParams.checkExclusive(params);
+        return success(employeeService.getAllEmployees(fields));
+    }
+
+    @GetMapping(params = {"page", "pageSize", "!ids", "!fields"})
     public JsonResult getEmployees(@RequestParam int page, @RequestParam int pageSize) {
         return success(employeeService.getPageEmployees(page, pageSize));
     }
 
-    @GetMapping(params = {"gender"})
-    public JsonResult getEmployees(@RequestParam String gender) {
-        return success(employeeService.getEmployeesByGender(gender));
+    @GetMapping(params = {"page", "pageSize", "slice=true", "!ids", "!fields"})
+    public JsonResult getSliceEmployees(@RequestParam int page, @RequestParam int pageSize) {
+        return success(employeeService.getSliceEmployees(page, pageSize));
+    }
+
+    @GetMapping(params = {"limit", "!ids", "!fields"})
+    public JsonResult getEmployees(@RequestParam(required = false) String after, @RequestParam int limit) {
+        return success(employeeService.getEmployeesAfter(after, limit));
+    }
+
+    @GetMapping("/search")
+    public JsonResult searchEmployees(EmployeeSearchRequest searchRequest) {
+        return success(employeeService.searchEmployees(searchRequest));
+    }
+
+    @GetMapping("/typeahead")
+    public JsonResult typeahead(@RequestParam String q, @RequestParam(defaultValue = "10") int limit) {
+        return success(employeeNameSearchService.typeahead(q, limit));
+    }
+
+    @GetMapping("/stats")
+    public JsonResult getEmployeeStats(@RequestParam(defaultValue = "") List<String> groupBy,
+                                       @RequestParam(defaultValue = "50,90,99") List<Double> percentiles,
+                                       @RequestParam(defaultValue = "10") int bins) {
+        return success(employeeStatsService.getStats(groupBy, percentiles, bins));
+    }
+
+    @GetMapping(params = {"ids"})
+    public JsonResult getEmployeesByIds(@RequestParam List<Integer> ids, @RequestParam MultiValueMap<String, String> params) {
+        RequestParams.checkExclusive(params);
+        return success(employeeService.getEmployeesByIds(ids));
+    }
+
+    @GetMapping(params = {"gender", "!ids", "!fields"})
+    public ResponseEntity<byte[]> getEmployees(@RequestParam String gender,
+                                               @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                               @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return responseCache.get("employees?gender=" + gender, accept, ifNoneMatch, acceptEncoding,
+                () -> success(employeeService.getEmployeesByGender(gender)));
+    }
+
+    @GetMapping(value = "/export", produces = APPLICATION_NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportEmployees() {
+        ObjectWriter writer = objectMapper.writerFor(EmployeeResponse.class);
+        StreamingResponseBody body = outputStream -> employeeService.exportEmployees(employee -> {
+            try {
+                outputStream.write(writer.writeValueAsBytes(employee));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(APPLICATION_NDJSON)).body(body);
     }
 
     @GetMapping("/{employeeId}")
-    @ResponseStatus(HttpStatus.OK)
-    public JsonResult getEmployeeById(@PathVariable int employeeId) {
-        return success(employeeService.getEmployeeById(employeeId));
+    public ResponseEntity<JsonResult> getEmployeeById(@PathVariable int employeeId,
+                                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String eTag = employeeService.getEmployeeETag(employeeId);
+            if (ETags.matches(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+        }
+        EmployeeResponse employee = employeeService.getEmployeeById(employeeId);
+        return ResponseEntity.ok().eTag(ETags.of(employee.getVersion())).body(success(employee));
     }
 
     @PostMapping
@@ -42,10 +141,32 @@ public class EmployeeController {
         return success(employeeService.addEmployee(employeeRequest));
     }
 
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_NDJSON})
+    @ResponseStatus(HttpStatus.CREATED)
+    public JsonResult addEmployees(InputStream body) throws IOException {
+        try (MappingIterator<EmployeeRequest> employeeRequests = objectMapper.readerFor(EmployeeRequest.class).readValues(body)) {
+            return success(employeeService.addEmployees(employeeRequests));
+        }
+    }
+
     @PutMapping("/{employeeId}")
+    public ResponseEntity<JsonResult> updateEmployee(@PathVariable int employeeId, @RequestBody EmployeeRequest employeeRequest,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        EmployeeResponse employee = employeeService.updateEmployee(employeeId, employeeRequest, ifMatch);
+        return ResponseEntity.ok().eTag(ETags.of(employee.getVersion())).body(success(employee));
+    }
+
+    @PatchMapping("/{employeeId}")
+    @ResponseStatus(HttpStatus.OK)
+    public JsonResult patchEmployee(@PathVariable int employeeId, @RequestBody EmployeePatchRequest employeePatchRequest) {
+        employeeService.patchEmployee(employeeId, employeePatchRequest);
+        return success();
+    }
+
+    @DeleteMapping(params = {"ids"})
     @ResponseStatus(HttpStatus.OK)
-    public JsonResult updateEmployee(@PathVariable int employeeId, @RequestBody EmployeeRequest employeeRequest) {
-        return success(employeeService.updateEmployee(employeeId, employeeRequest));
+    public JsonResult deleteEmployees(@RequestParam List<Integer> ids) {
+        return success(employeeService.deleteEmployeesByIds(ids));
     }
 
     @DeleteMapping("{employeeId}")
@@ -0,0 +1,30 @@
+package com.thoughtworks.springbootemployee.dao;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Root;
+import java.util.Map;
+
+abstract class AbstractPartialUpdateRepository<T> implements PartialUpdateRepository {
+    private final Class<T> domainClass;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    AbstractPartialUpdateRepository(Class<T> domainClass) {
+        this.domainClass = domainClass;
+    }
+
+    @Override
+    public int updateById(Integer id, Map<String, Object> fields) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<T> update = criteriaBuilder.createCriteriaUpdate(domainClass);
+        Root<T> root = update.from(domainClass);
+        fields.forEach(update::set);
+        update.set(root.<Integer>get("version"), criteriaBuilder.sum(root.get("version"), 1));
+        update.where(criteriaBuilder.equal(root.get("id"), id));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+}
@@ -1,10 +1,44 @@
 package com.thoughtworks.springbootemployee.dao;
 
 import com.thoughtworks.springbootemployee.model.Company;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH;
+
 @Repository
-public interface CompanyRepository extends JpaRepository<Company, Integer> {
+public interface CompanyRepository extends JpaRepository<Company, Integer>, CompanyRepositoryCustom {
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    @Query("select distinct c from Company c left join fetch c.employees order by c.id")
+    List<Company> findAllWithEmployees();
+
+    @EntityGraph(attributePaths = "employees")
+    Optional<Company> findWithEmployeesById(Integer id);
+
+    @Query("select c.version as version, e.id as employeeId, e.version as employeeVersion "
+            + "from Company c left join c.employees e where c.id = :id order by e.id")
+    List<CompanyVersion> findVersionsById(@Param("id") Integer id);
+
+    @Modifying
+    @Query("delete from Company c where c.id = :id")
+    int removeById(@Param("id") Integer id);
+
+    @EntityGraph(attributePaths = "employees")
+    List<Company> findDistinctByIdIn(Collection<Integer> ids);
+
+    Slice<Company> findAllBy(Pageable pageable);
 
+    List<Company> findAllByIdGreaterThanOrderByIdAsc(Integer id, Pageable pageable);
 }
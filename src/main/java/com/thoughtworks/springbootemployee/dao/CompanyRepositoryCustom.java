@@ -0,0 +1,4 @@
+package com.thoughtworks.springbootemployee.dao;
+
+public interface CompanyRepositoryCustom extends PartialUpdateRepository {
+}
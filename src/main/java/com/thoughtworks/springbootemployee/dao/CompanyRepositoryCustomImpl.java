@@ -0,0 +1,9 @@
+package com.thoughtworks.springbootemployee.dao;
+
+import com.thoughtworks.springbootemployee.model.Company;
+
+public class CompanyRepositoryCustomImpl extends AbstractPartialUpdateRepository<Company> implements CompanyRepositoryCustom {
+    public CompanyRepositoryCustomImpl() {
+        super(Company.class);
+    }
+}
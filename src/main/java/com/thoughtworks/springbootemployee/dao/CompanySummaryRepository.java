@@ -0,0 +1,45 @@
+package com.thoughtworks.springbootemployee.dao;
+
+import com.thoughtworks.springbootemployee.model.CompanySummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface CompanySummaryRepository extends JpaRepository<CompanySummary, Integer> {
+    @Transactional
+    @Modifying
+    @Query(value = "update company_summary set headcount = headcount + :headcount, total_salary = total_salary + :totalSalary, "
+            + "min_age = least(min_age, :minAge), max_age = greatest(max_age, :maxAge) where company_id = :companyId",
+            nativeQuery = true)
+    int applyDelta(@Param("companyId") Integer companyId, @Param("headcount") long headcount,
+                   @Param("totalSalary") double totalSalary, @Param("minAge") Integer minAge, @Param("maxAge") Integer maxAge);
+
+    @Transactional
+    @Modifying
+    @Query(value = "insert into company_summary (company_id, headcount, total_salary, min_age, max_age) "
+            + "select id, :headcount, :totalSalary, :minAge, :maxAge from company where id = :companyId",
+            nativeQuery = true)
+    int insertDelta(@Param("companyId") Integer companyId, @Param("headcount") long headcount,
+                    @Param("totalSalary") double totalSalary, @Param("minAge") Integer minAge, @Param("maxAge") Integer maxAge);
+
+    @Transactional
+    @Modifying
+    @Query(value = "update company_summary s set "
+            + "min_age = (select min(e.age) from employee e where e.company_id = s.company_id), "
+            + "max_age = (select max(e.age) from employee e where e.company_id = s.company_id) "
+            + "where s.company_id = :companyId",
+            nativeQuery = true)
+    int rescanAges(@Param("companyId") Integer companyId);
+
+    @Transactional
+    @Modifying
+    @Query(value = "merge into company_summary (company_id, headcount, total_salary, min_age, max_age) key (company_id) "
+            + "select c.id, count(e.id), coalesce(sum(e.salary), 0), min(e.age), max(e.age) "
+            + "from company c left join employee e on e.company_id = c.id group by c.id",
+            nativeQuery = true)
+    int reconcile();
+}
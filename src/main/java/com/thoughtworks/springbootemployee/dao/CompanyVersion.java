@@ -0,0 +1,9 @@
+package com.thoughtworks.springbootemployee.dao;
+
+public interface CompanyVersion {
+    int getVersion();
+
+    Integer getEmployeeId();
+
+    Integer getEmployeeVersion();
+}
@@ -0,0 +1,7 @@
+package com.thoughtworks.springbootemployee.dao;
+
+public interface EmployeeName {
+    Integer getId();
+
+    String getName();
+}
@@ -1,11 +1,68 @@
 package com.thoughtworks.springbootemployee.dao;
 
 import com.thoughtworks.springbootemployee.model.Employee;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Integer> {
+public interface EmployeeRepository extends JpaRepository<Employee, Integer>, EmployeeRepositoryCustom {
     List<Employee> findAllByGender(String gender);
+
+    Slice<Employee> findAllBy(Pageable pageable);
+
+    List<Employee> findAllByIdGreaterThanOrderByIdAsc(Integer id, Pageable pageable);
+
+    List<Employee> findAllByCompanyId(Integer companyId);
+
+    Page<Employee> findAllByCompanyId(Integer companyId, Pageable pageable);
+
+    List<Employee> findAllByCompanyIdAndIdGreaterThanOrderByIdAsc(Integer companyId, Integer id, Pageable pageable);
+
+    @Query(value = "select * from employee use index (idx_employee_company_id_salary_desc_id_desc) "
+            + "where company_id = :companyId order by company_id, salary desc, id desc limit :n", nativeQuery = true)
+    List<Employee> findHighestPaidByCompanyId(@Param("companyId") int companyId, @Param("n") int n);
+
+    @Query(value = "select * from employee use index (idx_employee_company_id_age_desc_id_desc) "
+            + "where company_id = :companyId order by company_id, age desc, id desc limit :n", nativeQuery = true)
+    List<Employee> findOldestByCompanyId(@Param("companyId") int companyId, @Param("n") int n);
+
+    @Query(value = "select id as \"id\", company_id as \"companyId\", age as \"age\", salary as \"salary\" "
+            + "from old table (delete from employee where id in (:ids))", nativeQuery = true)
+    List<RemovedEmployee> removeByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query(value = "select id from old table (delete from employee where company_id = :companyId)", nativeQuery = true)
+    List<Integer> removeByCompanyId(@Param("companyId") Integer companyId);
+
+    @Query("select e.version from Employee e where e.id = :id")
+    Optional<Integer> findVersionById(@Param("id") Integer id);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select e from Employee e order by e.id")
+    Stream<Employee> streamAllBy();
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    Stream<Employee> streamAllByCompanyIdIsNotNull();
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select e.id as id, e.name as name from Employee e order by e.id")
+    Stream<EmployeeName> streamAllNamesBy();
+
+    @Query(value = "select company_id as \"companyId\", age as \"age\", salary as \"salary\" "
+            + "from old table (update employee set salary = :salary, version = version + 1 where id = :id)", nativeQuery = true)
+    Optional<PatchedEmployee> updateSalaryById(@Param("id") Integer id, @Param("salary") double salary);
 }
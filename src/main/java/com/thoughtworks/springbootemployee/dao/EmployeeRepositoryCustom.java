@@ -0,0 +1,17 @@
+package com.thoughtworks.springbootemployee.dao;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface EmployeeRepositoryCustom extends PartialUpdateRepository {
+    List<Employee> search(Specification<Employee> specification, Sort sort, int limit);
+
+    List<Map<String, Object>> findFields(Specification<Employee> specification, List<String> fields, Sort sort);
+
+    Optional<PatchedEmployee> updateReturningPreviousById(Integer id, Map<String, Object> fields);
+}
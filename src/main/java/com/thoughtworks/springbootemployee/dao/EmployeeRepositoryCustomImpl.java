@@ -0,0 +1,116 @@
+package com.thoughtworks.springbootemployee.dao;
+
+import com.thoughtworks.springbootemployee.common.ExceptionMessage;
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.Query;
+import javax.persistence.Tuple;
+import javax.persistence.TupleElement;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+public class EmployeeRepositoryCustomImpl extends AbstractPartialUpdateRepository<Employee> implements EmployeeRepositoryCustom {
+    private static final Map<String, String> PATCH_COLUMNS = new HashMap<>();
+
+    static {
+        PATCH_COLUMNS.put("name", "name");
+        PATCH_COLUMNS.put("age", "age");
+        PATCH_COLUMNS.put("gender", "gender");
+        PATCH_COLUMNS.put("salary", "salary");
+        PATCH_COLUMNS.put("companyId", "company_id");
+    }
+
+    public EmployeeRepositoryCustomImpl() {
+        super(Employee.class);
+    }
+
+    @Override
+    public List<Employee> search(Specification<Employee> specification, Sort sort, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Employee> query = criteriaBuilder.createQuery(Employee.class);
+        Root<Employee> root = query.from(Employee.class);
+        Predicate predicate = specification == null ? null : specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root).orderBy(toOrders(sort, root, criteriaBuilder));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public List<Map<String, Object>> findFields(Specification<Employee> specification, List<String> fields, Sort sort) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Employee> root = query.from(Employee.class);
+        Predicate predicate = specification == null ? null : specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        List<Selection<?>> selections = fields.stream()
+                .map(field -> root.get(field).alias(field))
+                .collect(Collectors.toList());
+        query.multiselect(selections).orderBy(toOrders(sort, root, criteriaBuilder));
+        return entityManager.createQuery(query).getResultList().stream()
+                .map(EmployeeRepositoryCustomImpl::toFieldMap)
+                .collect(Collectors.toList());
+    }
+
+    private static Map<String, Object> toFieldMap(Tuple tuple) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (TupleElement<?> element : tuple.getElements()) {
+            fields.put(element.getAlias(), tuple.get(element));
+        }
+        return fields;
+    }
+
+    @Override
+    public Optional<PatchedEmployee> updateReturningPreviousById(Integer id, Map<String, Object> fields) {
+        if (fields.isEmpty() || !PATCH_COLUMNS.keySet().containsAll(fields.keySet())) {
+            throw new IllegalArgumentException(ExceptionMessage.IllegalArgumentException.getErrorMsg());
+        }
+        String assignments = fields.keySet().stream()
+                .map(field -> PATCH_COLUMNS.get(field) + " = :" + field)
+                .collect(Collectors.joining(", "));
+        Query query = entityManager.createNativeQuery("select company_id, age, salary from old table (update employee set "
+                + assignments + ", version = version + 1 where id = :id)");
+        fields.forEach(query::setParameter);
+        query.setParameter("id", id);
+        List<?> rows = query.getResultList();
+        return rows.stream().findFirst().map(row -> toPatchedEmployee((Object[]) row));
+    }
+
+    private static PatchedEmployee toPatchedEmployee(Object[] row) {
+        Integer companyId = row[0] == null ? null : ((Number) row[0]).intValue();
+        int age = ((Number) row[1]).intValue();
+        double salary = ((Number) row[2]).doubleValue();
+        return new PatchedEmployee() {
+            @Override
+            public Integer getCompanyId() {
+                return companyId;
+            }
+
+            @Override
+            public int getAge() {
+                return age;
+            }
+
+            @Override
+            public double getSalary() {
+                return salary;
+            }
+        };
+    }
+}
@@ -0,0 +1,76 @@
+package com.thoughtworks.springbootemployee.dao;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+
+public class EmployeeSpecifications {
+    private static final char LIKE_ESCAPE = '\\';
+
+    public static Specification<Employee> hasGender(String gender) {
+        return gender == null ? null : (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("gender"), gender);
+    }
+
+    public static Specification<Employee> inCompany(Integer companyId) {
+        return companyId == null ? null : (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("companyId"), companyId);
+    }
+
+    public static Specification<Employee> ageBetween(Integer minAge, Integer maxAge) {
+        return between("age", minAge, maxAge);
+    }
+
+    public static Specification<Employee> salaryBetween(Double minSalary, Double maxSalary) {
+        return between("salary", minSalary, maxSalary);
+    }
+
+    public static Specification<Employee> nameStartsWith(String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            return null;
+        }
+        String pattern = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return (root, query, criteriaBuilder) -> criteriaBuilder.like(root.get("name"), pattern, LIKE_ESCAPE);
+    }
+
+    public static Specification<Employee> hasValue(String field) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.isNotNull(root.get(field));
+    }
+
+    public static <T extends Comparable<? super T>> Specification<Employee> after(
+            String field, T lastValue, int lastId, Sort.Direction direction) {
+        return (root, query, criteriaBuilder) -> {
+            Path<Integer> id = root.get("id");
+            Predicate laterId = direction.isAscending()
+                    ? criteriaBuilder.greaterThan(id, lastId) : criteriaBuilder.lessThan(id, lastId);
+            if ("id".equals(field)) {
+                return laterId;
+            }
+            Path<T> value = root.get(field);
+            Predicate sameValueLaterId = criteriaBuilder.and(criteriaBuilder.equal(value, lastValue), laterId);
+            if (direction.isAscending()) {
+                return criteriaBuilder.and(criteriaBuilder.greaterThanOrEqualTo(value, lastValue),
+                        criteriaBuilder.or(criteriaBuilder.greaterThan(value, lastValue), sameValueLaterId));
+            }
+            return criteriaBuilder.and(criteriaBuilder.lessThanOrEqualTo(value, lastValue),
+                    criteriaBuilder.or(criteriaBuilder.lessThan(value, lastValue), sameValueLaterId));
+        };
+    }
+
+    private static <T extends Comparable<? super T>> Specification<Employee> between(String field, T min, T max) {
+        if (min == null && max == null) {
+            return null;
+        }
+        return (root, query, criteriaBuilder) -> {
+            Path<T> value = root.get(field);
+            if (min == null) {
+                return criteriaBuilder.lessThanOrEqualTo(value, max);
+            }
+            if (max == null) {
+                return criteriaBuilder.greaterThanOrEqualTo(value, min);
+            }
+            return criteriaBuilder.between(value, min, max);
+        };
+    }
+}
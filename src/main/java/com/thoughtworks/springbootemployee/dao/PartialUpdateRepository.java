@@ -0,0 +1,7 @@
+package com.thoughtworks.springbootemployee.dao;
+
+import java.util.Map;
+
+public interface PartialUpdateRepository {
+    int updateById(Integer id, Map<String, Object> fields);
+}
@@ -0,0 +1,9 @@
+package com.thoughtworks.springbootemployee.dao;
+
+public interface PatchedEmployee {
+    Integer getCompanyId();
+
+    int getAge();
+
+    double getSalary();
+}
@@ -0,0 +1,11 @@
+package com.thoughtworks.springbootemployee.dao;
+
+public interface RemovedEmployee {
+    Integer getId();
+
+    Integer getCompanyId();
+
+    int getAge();
+
+    double getSalary();
+}
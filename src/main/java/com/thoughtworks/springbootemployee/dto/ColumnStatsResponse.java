@@ -0,0 +1,64 @@
+package com.thoughtworks.springbootemployee.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class ColumnStatsResponse {
+    private double sum;
+    private double mean;
+    private double min;
+    private double max;
+    private Map<String, Double> percentiles;
+    private List<HistogramBinResponse> histogram;
+
+    public ColumnStatsResponse() {
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    public void setSum(double sum) {
+        this.sum = sum;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public void setMean(double mean) {
+        this.mean = mean;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public void setMin(double min) {
+        this.min = min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public void setMax(double max) {
+        this.max = max;
+    }
+
+    public Map<String, Double> getPercentiles() {
+        return percentiles;
+    }
+
+    public void setPercentiles(Map<String, Double> percentiles) {
+        this.percentiles = percentiles;
+    }
+
+    public List<HistogramBinResponse> getHistogram() {
+        return histogram;
+    }
+
+    public void setHistogram(List<HistogramBinResponse> histogram) {
+        this.histogram = histogram;
+    }
+}
@@ -0,0 +1,30 @@
+package com.thoughtworks.springbootemployee.dto;
+
+public class CompanyPatchRequest {
+    private String companyName;
+    private Integer employeesNumber;
+
+    public CompanyPatchRequest() {
+    }
+
+    public CompanyPatchRequest(String companyName, Integer employeesNumber) {
+        this.companyName = companyName;
+        this.employeesNumber = employeesNumber;
+    }
+
+    public String getCompanyName() {
+        return companyName;
+    }
+
+    public void setCompanyName(String companyName) {
+        this.companyName = companyName;
+    }
+
+    public Integer getEmployeesNumber() {
+        return employeesNumber;
+    }
+
+    public void setEmployeesNumber(Integer employeesNumber) {
+        this.employeesNumber = employeesNumber;
+    }
+}
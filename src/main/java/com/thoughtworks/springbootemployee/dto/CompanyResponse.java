@@ -9,6 +9,7 @@ public class CompanyResponse {
     private String companyName;
     private int employeesNumber;
     private List<Employee> employees;
+    private int version;
 
     public CompanyResponse() {
     }
@@ -51,4 +52,12 @@ public class CompanyResponse {
     public void setEmployees(List<Employee> employees) {
         this.employees = employees;
     }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,32 @@
+package com.thoughtworks.springbootemployee.dto;
+
+import java.util.List;
+
+public class CompanyTopEmployeesResponse {
+    private Integer companyId;
+    private List<EmployeeResponse> employees;
+
+    public CompanyTopEmployeesResponse() {
+    }
+
+    public CompanyTopEmployeesResponse(Integer companyId, List<EmployeeResponse> employees) {
+        this.companyId = companyId;
+        this.employees = employees;
+    }
+
+    public Integer getCompanyId() {
+        return companyId;
+    }
+
+    public void setCompanyId(Integer companyId) {
+        this.companyId = companyId;
+    }
+
+    public List<EmployeeResponse> getEmployees() {
+        return employees;
+    }
+
+    public void setEmployees(List<EmployeeResponse> employees) {
+        this.employees = employees;
+    }
+}
@@ -0,0 +1,48 @@
+package com.thoughtworks.springbootemployee.dto;
+
+import com.thoughtworks.springbootemployee.common.Cursor;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+public class CursorPage<T> {
+    private List<T> content;
+    private String nextCursor;
+
+    public CursorPage() {
+    }
+
+    public CursorPage(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    public static <E, T> CursorPage<T> of(List<E> rows, int limit, ToIntFunction<E> idOf, Function<E, T> mapper) {
+        return withCursor(rows, limit, row -> Cursor.encode(idOf.applyAsInt(row)), mapper);
+    }
+
+    public static <E, T> CursorPage<T> withCursor(List<E> rows, int limit, Function<E, String> cursorOf, Function<E, T> mapper) {
+        boolean hasNext = rows.size() > limit;
+        List<E> page = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(page.get(page.size() - 1)) : null;
+        return new CursorPage<>(page.stream().map(mapper).collect(Collectors.toList()), nextCursor);
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
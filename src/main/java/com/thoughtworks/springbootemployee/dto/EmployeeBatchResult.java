@@ -0,0 +1,52 @@
+package com.thoughtworks.springbootemployee.dto;
+
+import com.thoughtworks.springbootemployee.common.JsonReturnCode;
+
+public class EmployeeBatchResult {
+    private int index;
+    private Integer id;
+    private String code;
+    private String msg;
+
+    public EmployeeBatchResult() {
+    }
+
+    public EmployeeBatchResult(int index, Integer id, JsonReturnCode returnCode) {
+        this.index = index;
+        this.id = id;
+        this.code = returnCode.getCode();
+        this.msg = returnCode.getDesc();
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public String getMsg() {
+        return msg;
+    }
+
+    public void setMsg(String msg) {
+        this.msg = msg;
+    }
+}
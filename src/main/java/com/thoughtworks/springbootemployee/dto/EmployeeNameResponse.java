@@ -0,0 +1,30 @@
+package com.thoughtworks.springbootemployee.dto;
+
+public class EmployeeNameResponse {
+    private Integer id;
+    private String name;
+
+    public EmployeeNameResponse() {
+    }
+
+    public EmployeeNameResponse(Integer id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,60 @@
+package com.thoughtworks.springbootemployee.dto;
+
+public class EmployeePatchRequest {
+    private String name;
+    private Integer age;
+    private String gender;
+    private Double salary;
+    private Integer companyId;
+
+    public EmployeePatchRequest() {
+    }
+
+    public EmployeePatchRequest(String name, Integer age, String gender, Double salary, Integer companyId) {
+        this.name = name;
+        this.age = age;
+        this.gender = gender;
+        this.salary = salary;
+        this.companyId = companyId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public void setAge(Integer age) {
+        this.age = age;
+    }
+
+    public String getGender() {
+        return gender;
+    }
+
+    public void setGender(String gender) {
+        this.gender = gender;
+    }
+
+    public Double getSalary() {
+        return salary;
+    }
+
+    public void setSalary(Double salary) {
+        this.salary = salary;
+    }
+
+    public Integer getCompanyId() {
+        return companyId;
+    }
+
+    public void setCompanyId(Integer companyId) {
+        this.companyId = companyId;
+    }
+}
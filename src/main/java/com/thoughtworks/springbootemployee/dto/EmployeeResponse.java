@@ -7,6 +7,7 @@ public class EmployeeResponse {
     private String gender;
     private double salary;
     private Integer companyId;
+    private Integer version;
 
     public EmployeeResponse() {
     }
@@ -80,4 +81,12 @@ public class EmployeeResponse {
     public void setCompanyId(Integer companyId) {
         this.companyId = companyId;
     }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,52 @@
+package com.thoughtworks.springbootemployee.dto;
+
+public class EmployeeStatsResponse {
+    private String gender;
+    private Integer companyId;
+    private int count;
+    private ColumnStatsResponse salary;
+    private ColumnStatsResponse age;
+
+    public EmployeeStatsResponse() {
+    }
+
+    public String getGender() {
+        return gender;
+    }
+
+    public void setGender(String gender) {
+        this.gender = gender;
+    }
+
+    public Integer getCompanyId() {
+        return companyId;
+    }
+
+    public void setCompanyId(Integer companyId) {
+        this.companyId = companyId;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public ColumnStatsResponse getSalary() {
+        return salary;
+    }
+
+    public void setSalary(ColumnStatsResponse salary) {
+        this.salary = salary;
+    }
+
+    public ColumnStatsResponse getAge() {
+        return age;
+    }
+
+    public void setAge(ColumnStatsResponse age) {
+        this.age = age;
+    }
+}
@@ -0,0 +1,34 @@
+package com.thoughtworks.springbootemployee.dto;
+
+public class HistogramBinResponse {
+    private double lower;
+    private double upper;
+    private int count;
+
+    public HistogramBinResponse() {
+    }
+
+    public double getLower() {
+        return lower;
+    }
+
+    public void setLower(double lower) {
+        this.lower = lower;
+    }
+
+    public double getUpper() {
+        return upper;
+    }
+
+    public void setUpper(double upper) {
+        this.upper = upper;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+}
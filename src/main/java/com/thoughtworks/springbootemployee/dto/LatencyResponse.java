@@ -0,0 +1,89 @@
+package com.thoughtworks.springbootemployee.dto;
+
+import java.util.Map;
+
+public class LatencyResponse {
+    private String name;
+    private Map<String, String> tags;
+    private long count;
+    private double mean;
+    private double max;
+    private Double p50;
+    private Double p95;
+    private Double p99;
+
+    public LatencyResponse() {
+    }
+
+    public LatencyResponse(String name, Map<String, String> tags, long count, double mean, double max) {
+        this.name = name;
+        this.tags = tags;
+        this.count = count;
+        this.mean = mean;
+        this.max = max;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    public void setTags(Map<String, String> tags) {
+        this.tags = tags;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public void setMean(double mean) {
+        this.mean = mean;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public void setMax(double max) {
+        this.max = max;
+    }
+
+    public Double getP50() {
+        return p50;
+    }
+
+    public void setP50(Double p50) {
+        this.p50 = p50;
+    }
+
+    public Double getP95() {
+        return p95;
+    }
+
+    public void setP95(Double p95) {
+        this.p95 = p95;
+    }
+
+    public Double getP99() {
+        return p99;
+    }
+
+    public void setP99(Double p99) {
+        this.p99 = p99;
+    }
+}
@@ -1,22 +1,74 @@
 package com.thoughtworks.springbootemployee.mapper;
 
+import com.thoughtworks.springbootemployee.common.ETags;
+import com.thoughtworks.springbootemployee.dao.CompanyVersion;
+import com.thoughtworks.springbootemployee.dto.CompanyPatchRequest;
 import com.thoughtworks.springbootemployee.dto.CompanyRequest;
 import com.thoughtworks.springbootemployee.dto.CompanyResponse;
 import com.thoughtworks.springbootemployee.model.Company;
-import org.springframework.beans.BeanUtils;
+import com.thoughtworks.springbootemployee.model.Employee;
 
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 public class CompanyMapper {
+    private static final long FINGERPRINT_SEED = 0xCBF29CE484222325L;
+    private static final long FINGERPRINT_PRIME = 0x100000001B3L;
 
     public static Company toCompany(CompanyRequest companyRequest) {
         Company company = new Company();
-        BeanUtils.copyProperties(companyRequest, company);
+        company.setId(companyRequest.getId());
+        company.setCompanyName(companyRequest.getCompanyName());
+        company.setEmployeesNumber(companyRequest.getEmployeesNumber());
+        company.setEmployees(companyRequest.getEmployees());
         return company;
     }
 
     public static CompanyResponse toCompanyResponse(Company company) {
         CompanyResponse companyResponse = new CompanyResponse();
-        BeanUtils.copyProperties(company, companyResponse);
+        companyResponse.setId(company.getId());
+        companyResponse.setCompanyName(company.getCompanyName());
+        companyResponse.setEmployeesNumber(company.getEmployeesNumber());
+        companyResponse.setEmployees(company.getEmployees());
+        companyResponse.setVersion(company.getVersion());
         return companyResponse;
     }
+
+    public static String toETag(CompanyResponse companyResponse) {
+        List<Employee> employees = companyResponse.getEmployees() == null
+                ? Collections.emptyList() : companyResponse.getEmployees();
+        long fingerprint = FINGERPRINT_SEED;
+        for (Employee employee : employees.stream().sorted(Comparator.comparing(Employee::getId)).collect(Collectors.toList())) {
+            fingerprint = fingerprint(fingerprint, employee.getId(), employee.getVersion());
+        }
+        return ETags.of(companyResponse.getVersion(), employees.size(), fingerprint);
+    }
+
+    public static String toETag(List<CompanyVersion> companyVersions) {
+        long fingerprint = FINGERPRINT_SEED;
+        int employeeCount = 0;
+        for (CompanyVersion companyVersion : companyVersions) {
+            if (companyVersion.getEmployeeId() != null) {
+                fingerprint = fingerprint(fingerprint, companyVersion.getEmployeeId(), companyVersion.getEmployeeVersion());
+                employeeCount++;
+            }
+        }
+        return ETags.of(companyVersions.get(0).getVersion(), employeeCount, fingerprint);
+    }
+
+    private static long fingerprint(long fingerprint, int employeeId, int employeeVersion) {
+        fingerprint = (fingerprint ^ employeeId) * FINGERPRINT_PRIME;
+        return (fingerprint ^ employeeVersion) * FINGERPRINT_PRIME;
+    }
+
+    public static Map<String, Object> toChangedFields(CompanyPatchRequest companyPatchRequest) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        EmployeeMapper.putIfPresent(fields, "companyName", companyPatchRequest.getCompanyName());
+        EmployeeMapper.putIfPresent(fields, "employeesNumber", companyPatchRequest.getEmployeesNumber());
+        return fields;
+    }
 }
@@ -0,0 +1,19 @@
+package com.thoughtworks.springbootemployee.mapper;
+
+import com.thoughtworks.springbootemployee.dto.CompanySummaryResponse;
+import com.thoughtworks.springbootemployee.model.CompanySummary;
+
+public class CompanySummaryMapper {
+    public static CompanySummaryResponse toCompanySummaryResponse(CompanySummary companySummary, boolean stale) {
+        CompanySummaryResponse companySummaryResponse = new CompanySummaryResponse();
+        companySummaryResponse.setCompanyId(companySummary.getCompanyId());
+        companySummaryResponse.setHeadcount(companySummary.getHeadcount());
+        companySummaryResponse.setTotalSalary(companySummary.getTotalSalary());
+        companySummaryResponse.setAverageSalary(companySummary.getHeadcount() == 0
+                ? 0 : companySummary.getTotalSalary() / companySummary.getHeadcount());
+        companySummaryResponse.setMinAge(companySummary.getMinAge());
+        companySummaryResponse.setMaxAge(companySummary.getMaxAge());
+        companySummaryResponse.setStale(stale);
+        return companySummaryResponse;
+    }
+}
@@ -1,20 +1,71 @@
 package com.thoughtworks.springbootemployee.mapper;
 
+import com.thoughtworks.springbootemployee.common.ExceptionMessage;
+import com.thoughtworks.springbootemployee.dto.EmployeePatchRequest;
 import com.thoughtworks.springbootemployee.dto.EmployeeRequest;
 import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
 import com.thoughtworks.springbootemployee.model.Employee;
-import org.springframework.beans.BeanUtils;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 public class EmployeeMapper {
+    private static final Set<String> RESPONSE_FIELDS = new HashSet<>(
+            Arrays.asList("id", "name", "age", "gender", "salary", "companyId", "version"));
+
     public static Employee toEmployee(EmployeeRequest employeeRequest) {
+        Employee employee = toNewEmployee(employeeRequest);
+        employee.setId(employeeRequest.getId());
+        return employee;
+    }
+
+    public static Employee toNewEmployee(EmployeeRequest employeeRequest) {
         Employee employee = new Employee();
-        BeanUtils.copyProperties(employeeRequest, employee);
+        employee.setName(employeeRequest.getName());
+        employee.setAge(employeeRequest.getAge());
+        employee.setGender(employeeRequest.getGender());
+        employee.setSalary(employeeRequest.getSalary());
+        employee.setCompanyId(employeeRequest.getCompanyId());
         return employee;
     }
 
     public static EmployeeResponse toEmployeeResponse(Employee employee) {
         EmployeeResponse employeeResponse = new EmployeeResponse();
-        BeanUtils.copyProperties(employee, employeeResponse);
+        employeeResponse.setId(employee.getId());
+        employeeResponse.setName(employee.getName());
+        employeeResponse.setAge(employee.getAge());
+        employeeResponse.setGender(employee.getGender());
+        employeeResponse.setSalary(employee.getSalary());
+        employeeResponse.setCompanyId(employee.getCompanyId());
+        employeeResponse.setVersion(employee.getVersion());
         return employeeResponse;
     }
+
+    public static Map<String, Object> toChangedFields(EmployeePatchRequest employeePatchRequest) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        putIfPresent(fields, "name", employeePatchRequest.getName());
+        putIfPresent(fields, "age", employeePatchRequest.getAge());
+        putIfPresent(fields, "gender", employeePatchRequest.getGender());
+        putIfPresent(fields, "salary", employeePatchRequest.getSalary());
+        putIfPresent(fields, "companyId", employeePatchRequest.getCompanyId());
+        return fields;
+    }
+
+    public static List<String> toFields(List<String> fields) {
+        if (fields.isEmpty() || !RESPONSE_FIELDS.containsAll(fields)) {
+            throw new IllegalArgumentException(ExceptionMessage.IllegalArgumentException.getErrorMsg());
+        }
+        return fields.stream().distinct().collect(Collectors.toList());
+    }
+
+    static void putIfPresent(Map<String, Object> fields, String name, Object value) {
+        if (value != null) {
+            fields.put(name, value);
+        }
+    }
 }
@@ -0,0 +1,66 @@
+package com.thoughtworks.springbootemployee.metrics;
+
+import com.thoughtworks.springbootemployee.dto.LatencyResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Component
+@Endpoint(id = "latency")
+public class LatencyEndpoint {
+    private final MeterRegistry meterRegistry;
+
+    public LatencyEndpoint(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @ReadOperation
+    public List<LatencyResponse> latencies() {
+        return latencies(null);
+    }
+
+    @ReadOperation
+    public List<LatencyResponse> latencies(@Selector String name) {
+        return meterRegistry.getMeters().stream()
+                .filter(Timer.class::isInstance)
+                .map(Timer.class::cast)
+                .filter(timer -> name == null || timer.getId().getName().equals(name))
+                .map(LatencyEndpoint::toLatencyResponse)
+                .sorted(Comparator.comparing(LatencyResponse::getName))
+                .collect(Collectors.toList());
+    }
+
+    private static LatencyResponse toLatencyResponse(Timer timer) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        Map<String, String> tags = new LinkedHashMap<>();
+        for (Tag tag : timer.getId().getTags()) {
+            tags.put(tag.getKey(), tag.getValue());
+        }
+        LatencyResponse latencyResponse = new LatencyResponse(timer.getId().getName(), tags, snapshot.count(),
+                snapshot.mean(TimeUnit.MILLISECONDS), snapshot.max(TimeUnit.MILLISECONDS));
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            double value = percentile.value(TimeUnit.MILLISECONDS);
+            if (percentile.percentile() == 0.5) {
+                latencyResponse.setP50(value);
+            } else if (percentile.percentile() == 0.95) {
+                latencyResponse.setP95(value);
+            } else if (percentile.percentile() == 0.99) {
+                latencyResponse.setP99(value);
+            }
+        }
+        return latencyResponse;
+    }
+}
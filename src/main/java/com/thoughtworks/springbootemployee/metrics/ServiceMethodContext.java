@@ -0,0 +1,26 @@
+package com.thoughtworks.springbootemployee.metrics;
+
+public class ServiceMethodContext {
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ServiceMethodContext() {
+    }
+
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    static String enter(String serviceMethod) {
+        String previous = CURRENT.get();
+        CURRENT.set(serviceMethod);
+        return previous;
+    }
+
+    static void exit(String previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
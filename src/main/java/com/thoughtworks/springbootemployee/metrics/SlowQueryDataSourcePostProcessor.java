@@ -0,0 +1,32 @@
+package com.thoughtworks.springbootemployee.metrics;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+@Component
+public class SlowQueryDataSourcePostProcessor implements BeanPostProcessor {
+    @Value("${slow-query.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${slow-query.threshold-ms:200}")
+    private long thresholdMs = 200;
+
+    @Value("${slow-query.sample-rate:0}")
+    private double sampleRate;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!enabled || !(bean instanceof DataSource) || bean instanceof ProxyDataSource) {
+            return bean;
+        }
+        return ProxyDataSourceBuilder.create((DataSource) bean)
+                .name(beanName)
+                .listener(new SlowQueryListener(thresholdMs, sampleRate))
+                .build();
+    }
+}
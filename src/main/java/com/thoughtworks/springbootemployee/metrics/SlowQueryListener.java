@@ -0,0 +1,88 @@
+package com.thoughtworks.springbootemployee.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class SlowQueryListener implements QueryExecutionListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SlowQueryListener.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final int MAX_PARAMETER_LENGTH = 200;
+    private static final Comparator<ParameterSetOperation> PARAMETER_ORDER = Comparator
+            .comparing((ParameterSetOperation operation) -> !(operation.getArgs()[0] instanceof Integer))
+            .thenComparing(operation -> operation.getArgs()[0] instanceof Integer ? (Integer) operation.getArgs()[0] : 0)
+            .thenComparing(operation -> String.valueOf(operation.getArgs()[0]));
+
+    private final long thresholdMs;
+    private final double sampleRate;
+
+    public SlowQueryListener(long thresholdMs, double sampleRate) {
+        this.thresholdMs = thresholdMs;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        boolean slow = execInfo.getElapsedTime() >= thresholdMs;
+        if (slow ? !LOGGER.isWarnEnabled() : !isSampled() || !LOGGER.isInfoEnabled()) {
+            return;
+        }
+        String entry = toEntry(execInfo, queryInfoList, slow ? "slow" : "sampled");
+        if (slow) {
+            LOGGER.warn(entry);
+        } else {
+            LOGGER.info(entry);
+        }
+    }
+
+    private boolean isSampled() {
+        return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private String toEntry(ExecutionInfo execInfo, List<QueryInfo> queryInfoList, String reason) {
+        ObjectNode entry = OBJECT_MAPPER.createObjectNode()
+                .put("reason", reason)
+                .put("elapsedMs", execInfo.getElapsedTime())
+                .put("thresholdMs", thresholdMs)
+                .put("service", ServiceMethodContext.current())
+                .put("dataSource", execInfo.getDataSourceName())
+                .put("type", execInfo.getStatementType().name())
+                .put("batch", execInfo.isBatch())
+                .put("batchSize", execInfo.getBatchSize())
+                .put("success", execInfo.isSuccess());
+        ArrayNode queries = entry.putArray("queries");
+        for (QueryInfo queryInfo : queryInfoList) {
+            ObjectNode query = queries.addObject().put("sql", queryInfo.getQuery());
+            ArrayNode params = query.putArray("params");
+            for (List<ParameterSetOperation> operations : queryInfo.getParametersList()) {
+                ArrayNode values = params.addArray();
+                operations.stream()
+                        .sorted(PARAMETER_ORDER)
+                        .forEach(operation -> values.add(toParameter(operation)));
+            }
+        }
+        return entry.toString();
+    }
+
+    private static String toParameter(ParameterSetOperation operation) {
+        if (ParameterSetOperation.isSetNullParameterOperation(operation)) {
+            return null;
+        }
+        String value = String.valueOf(operation.getArgs()[1]);
+        return value.length() > MAX_PARAMETER_LENGTH ? value.substring(0, MAX_PARAMETER_LENGTH) + "..." : value;
+    }
+}
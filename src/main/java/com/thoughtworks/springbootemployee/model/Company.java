@@ -12,6 +12,8 @@ public class Company {
     private int employeesNumber;
     @OneToMany(cascade = {CascadeType.ALL}, mappedBy = "companyId")
     private List<Employee> employees;
+    @Version
+    private int version;
 
     public Company() {
     }
@@ -54,4 +56,12 @@ public class Company {
     public void setEmployees(List<Employee> employees) {
         this.employees = employees;
     }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,48 @@
+package com.thoughtworks.springbootemployee.model;
+
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+@Entity
+@Immutable
+public class CompanySummary {
+    @Id
+    private Integer companyId;
+    private int headcount;
+    private double totalSalary;
+    private Integer minAge;
+    private Integer maxAge;
+
+    public CompanySummary() {
+    }
+
+    public CompanySummary(int companyId, int headcount, double totalSalary, Integer minAge, Integer maxAge) {
+        this.companyId = companyId;
+        this.headcount = headcount;
+        this.totalSalary = totalSalary;
+        this.minAge = minAge;
+        this.maxAge = maxAge;
+    }
+
+    public int getCompanyId() {
+        return companyId;
+    }
+
+    public int getHeadcount() {
+        return headcount;
+    }
+
+    public double getTotalSalary() {
+        return totalSalary;
+    }
+
+    public Integer getMinAge() {
+        return minAge;
+    }
+
+    public Integer getMaxAge() {
+        return maxAge;
+    }
+}
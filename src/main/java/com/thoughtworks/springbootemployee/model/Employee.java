@@ -4,11 +4,14 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Version;
 
 @Entity
 public class Employee {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_id_seq")
+    @SequenceGenerator(name = "employee_id_seq", sequenceName = "employee_id_seq", allocationSize = 50)
     private Integer id;
     private String name;
     private int age;
@@ -16,6 +19,8 @@ public class Employee {
     private double salary;
 
     private Integer companyId;
+    @Version
+    private Integer version;
 
     public Employee() {
     }
@@ -42,7 +47,7 @@ public class Employee {
         this.id = id;
     }
 
-    public int getId() {
+    public Integer getId() {
         return id;
     }
 
@@ -89,4 +94,12 @@ public class Employee {
     public void setCompanyId(Integer companyId) {
         this.companyId = companyId;
     }
-}
\ No newline at end of file
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+}
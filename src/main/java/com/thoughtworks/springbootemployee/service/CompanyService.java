@@ -1,35 +1,78 @@
 package com.thoughtworks.springbootemployee.service;
 
+import com.thoughtworks.springbootemployee.common.Cursor;
+import com.thoughtworks.springbootemployee.common.IdList;
+import com.thoughtworks.springbootemployee.common.ETags;
+import com.thoughtworks.springbootemployee.common.ExceptionMessage;
 import com.thoughtworks.springbootemployee.dao.CompanyRepository;
+import com.thoughtworks.springbootemployee.dao.CompanyVersion;
+import com.thoughtworks.springbootemployee.dao.EmployeeRepository;
+import com.thoughtworks.springbootemployee.dto.CompanyPatchRequest;
 import com.thoughtworks.springbootemployee.dto.CompanyRequest;
 import com.thoughtworks.springbootemployee.dto.CompanyResponse;
+import com.thoughtworks.springbootemployee.dto.CompanyTopEmployeesResponse;
+import com.thoughtworks.springbootemployee.dto.CursorPage;
 import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
 import com.thoughtworks.springbootemployee.exception.IllegalOperationException;
 import com.thoughtworks.springbootemployee.exception.NoSuchDataException;
+import com.thoughtworks.springbootemployee.exception.PreconditionFailedException;
 import com.thoughtworks.springbootemployee.mapper.CompanyMapper;
 import com.thoughtworks.springbootemployee.mapper.EmployeeMapper;
 import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static com.thoughtworks.springbootemployee.dao.EmployeeSpecifications.inCompany;
+import static com.thoughtworks.springbootemployee.mapper.CompanyMapper.toChangedFields;
 import static com.thoughtworks.springbootemployee.mapper.CompanyMapper.toCompany;
 import static com.thoughtworks.springbootemployee.mapper.CompanyMapper.toCompanyResponse;
 
 @Service
 public class CompanyService {
+    private static final Set<String> RANKING_FIELDS = new HashSet<>(Arrays.asList("salary", "age"));
 
     private final CompanyRepository companyRepository;
+    private final EmployeeRepository employeeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CompanyService(CompanyRepository companyRepository) {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+
+    public CompanyService(CompanyRepository companyRepository, EmployeeRepository employeeRepository,
+                          ApplicationEventPublisher eventPublisher) {
         this.companyRepository = companyRepository;
+        this.employeeRepository = employeeRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<CompanyResponse> getAllCompanies() {
-        return companyRepository.findAll()
+        return companyRepository.findAllWithEmployees()
                 .stream().map(CompanyMapper::toCompanyResponse)
                 .collect(Collectors.toList());
     }
@@ -38,38 +81,186 @@ public class CompanyService {
         return companyRepository.findAll(PageRequest.of(page - 1, pageSize));
     }
 
+    public Slice<CompanyResponse> getSliceCompanies(Integer page, Integer pageSize) {
+        return companyRepository.findAllBy(PageRequest.of(page - 1, pageSize))
+                .map(CompanyMapper::toCompanyResponse);
+    }
+
+    public CursorPage<CompanyResponse> getCompaniesAfter(String after, int limit) {
+        Cursor.checkLimit(limit);
+        List<Company> companies = companyRepository
+                .findAllByIdGreaterThanOrderByIdAsc(Cursor.decode(after), PageRequest.of(0, limit + 1));
+        return CursorPage.of(companies, limit, Company::getId, CompanyMapper::toCompanyResponse);
+    }
+
+    @Cacheable(cacheNames = "companies", key = "#companyId", sync = true)
     public CompanyResponse getCompanyById(int companyId) {
         return toCompanyResponse(findCompanyById(companyId));
     }
 
+    public String getCompanyETag(int companyId) {
+        List<CompanyVersion> companyVersions = companyRepository.findVersionsById(companyId);
+        if (companyVersions.isEmpty()) {
+            throw new NoSuchDataException();
+        }
+        return CompanyMapper.toETag(companyVersions);
+    }
+
+    public List<CompanyResponse> getCompaniesByIds(List<Integer> companyIds) {
+        IdList.checkSize(companyIds);
+        Map<Integer, CompanyResponse> companies = companyRepository.findDistinctByIdIn(companyIds).stream()
+                .collect(Collectors.toMap(Company::getId, CompanyMapper::toCompanyResponse));
+        return companyIds.stream().distinct().map(companies::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
     public List<EmployeeResponse> getAllEmployeeByCompanyId(int companyId) {
-        return findCompanyById(companyId)
-                .getEmployees().stream()
+        checkCompanyExists(companyId);
+        return employeeRepository.findAllByCompanyId(companyId).stream()
+                .map(EmployeeMapper::toEmployeeResponse)
+                .collect(Collectors.toList());
+    }
+
+    public List<Map<String, Object>> getAllEmployeeByCompanyId(int companyId, List<String> fields) {
+        List<String> checkedFields = EmployeeMapper.toFields(fields);
+        checkCompanyExists(companyId);
+        return employeeRepository.findFields(inCompany(companyId), checkedFields, Sort.by("id"));
+    }
+
+    public List<EmployeeResponse> getTopEmployeesByCompanyId(int companyId, String by, int n) {
+        if (!RANKING_FIELDS.contains(by)) {
+            throw new IllegalArgumentException(ExceptionMessage.IllegalArgumentException.getErrorMsg());
+        }
+        Cursor.checkLimit(n);
+        checkCompanyExists(companyId);
+        List<Employee> employees = "salary".equals(by)
+                ? employeeRepository.findHighestPaidByCompanyId(companyId, n)
+                : employeeRepository.findOldestByCompanyId(companyId, n);
+        return employees.stream()
                 .map(EmployeeMapper::toEmployeeResponse)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public List<CompanyTopEmployeesResponse> getTopEmployeesPerCompany(String by, int n) {
+        Comparator<Employee> ranking = ranking(by);
+        Cursor.checkLimit(n);
+        Map<Integer, PriorityQueue<Employee>> topEmployees = new TreeMap<>();
+        try (Stream<Employee> employees = employeeRepository.streamAllByCompanyIdIsNotNull()) {
+            employees.forEach(employee -> {
+                entityManager.detach(employee);
+                PriorityQueue<Employee> heap = topEmployees.computeIfAbsent(employee.getCompanyId(),
+                        companyId -> new PriorityQueue<>(n, ranking));
+                if (heap.size() < n) {
+                    heap.add(employee);
+                } else if (ranking.compare(employee, heap.peek()) > 0) {
+                    heap.poll();
+                    heap.add(employee);
+                }
+            });
+        }
+        return topEmployees.entrySet().stream()
+                .map(heap -> new CompanyTopEmployeesResponse(heap.getKey(), heap.getValue().stream()
+                        .sorted(ranking.reversed())
+                        .map(EmployeeMapper::toEmployeeResponse)
+                        .collect(Collectors.toList())))
+                .collect(Collectors.toList());
+    }
+
+    private static Comparator<Employee> ranking(String by) {
+        switch (by) {
+            case "salary":
+                return Comparator.comparingDouble(Employee::getSalary).thenComparingInt(Employee::getId);
+            case "age":
+                return Comparator.comparingInt(Employee::getAge).thenComparingInt(Employee::getId);
+            default:
+                throw new IllegalArgumentException(ExceptionMessage.IllegalArgumentException.getErrorMsg());
+        }
+    }
+
+    public Page<EmployeeResponse> getPageEmployeesByCompanyId(int companyId, Integer page, Integer pageSize) {
+        checkCompanyExists(companyId);
+        return employeeRepository.findAllByCompanyId(companyId, PageRequest.of(page - 1, pageSize, Sort.by("id")))
+                .map(EmployeeMapper::toEmployeeResponse);
+    }
+
+    public CursorPage<EmployeeResponse> getEmployeesByCompanyIdAfter(int companyId, String after, int limit) {
+        Cursor.checkLimit(limit);
+        checkCompanyExists(companyId);
+        List<Employee> employees = employeeRepository.findAllByCompanyIdAndIdGreaterThanOrderByIdAsc(
+                companyId, Cursor.decode(after), PageRequest.of(0, limit + 1));
+        return CursorPage.of(employees, limit, Employee::getId, EmployeeMapper::toEmployeeResponse);
+    }
+
+    @CacheEvict(cacheNames = "companies", key = "#result.id")
     public CompanyResponse addCompany(CompanyRequest companyRequest) {
-        return toCompanyResponse(companyRepository.save(toCompany(companyRequest)));
+        Company company = companyRepository.save(toCompany(companyRequest));
+        if (company.getEmployees() != null && !company.getEmployees().isEmpty()) {
+            eventPublisher.publishEvent(EmployeeChangedEvent.bulk(Collections.singletonList(company.getId())));
+            company.getEmployees().forEach(employee -> eventPublisher.publishEvent(EmployeeRowChangedEvent.of(employee)));
+        }
+        eventPublisher.publishEvent(DataChangedEvent.INSTANCE);
+        return toCompanyResponse(company);
     }
 
-    public CompanyResponse updateCompany(Integer companyId, CompanyRequest companyRequest) {
+    @Transactional
+    @CacheEvict(cacheNames = "companies", key = "#companyId")
+    public CompanyResponse updateCompany(Integer companyId, CompanyRequest companyRequest, String ifMatch) {
         if (companyId.intValue() != companyRequest.getId()) {
             throw new IllegalOperationException();
         }
-        Company company = toCompany(companyRequest);
-        Company companyInfo = companyRepository.findById(companyId).orElseThrow(NoSuchDataException::new);
-        companyInfo.setCompanyName(company.getCompanyName());
-        companyInfo.setEmployeesNumber(company.getEmployeesNumber());
-        return toCompanyResponse(companyRepository.save(company));
+        Company companyInfo = findCompanyById(companyId);
+        if (ifMatch != null && !ETags.matches(ifMatch, CompanyMapper.toETag(toCompanyResponse(companyInfo)))) {
+            throw new PreconditionFailedException();
+        }
+        companyInfo.setCompanyName(companyRequest.getCompanyName());
+        companyInfo.setEmployeesNumber(companyRequest.getEmployeesNumber());
+        Company updatedCompany;
+        try {
+            updatedCompany = companyRepository.saveAndFlush(companyInfo);
+        } catch (OptimisticLockingFailureException e) {
+            if (ifMatch != null) {
+                throw new PreconditionFailedException();
+            }
+            throw e;
+        }
+        eventPublisher.publishEvent(DataChangedEvent.INSTANCE);
+        return toCompanyResponse(updatedCompany);
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = "companies", key = "#companyId")
+    public void patchCompany(int companyId, CompanyPatchRequest companyPatchRequest) {
+        Map<String, Object> fields = toChangedFields(companyPatchRequest);
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException(ExceptionMessage.IllegalArgumentException.getErrorMsg());
+        }
+        if (companyRepository.updateById(companyId, fields) == 0) {
+            throw new NoSuchDataException();
+        }
+        eventPublisher.publishEvent(DataChangedEvent.INSTANCE);
     }
 
-    public void deleteCompanyById(Integer companyId) {
-        companyRepository.deleteById(companyId);
+    @Transactional
+    @Caching(evict = {@CacheEvict(cacheNames = "companies", key = "#companyId"),
+            @CacheEvict(cacheNames = "employees", allEntries = true)})
+    public int deleteCompanyById(Integer companyId) {
+        List<Integer> removedEmployeeIds = employeeRepository.removeByCompanyId(companyId);
+        if (companyRepository.removeById(companyId) == 0) {
+            throw new NoSuchDataException();
+        }
+        removedEmployeeIds.forEach(employeeId -> eventPublisher.publishEvent(EmployeeRowChangedEvent.removed(employeeId)));
+        eventPublisher.publishEvent(DataChangedEvent.INSTANCE);
+        return removedEmployeeIds.size();
+    }
+
+    private void checkCompanyExists(int companyId) {
+        if (!companyRepository.existsById(companyId)) {
+            throw new NoSuchDataException();
+        }
     }
 
     private Company findCompanyById(int companyId) {
-        return companyRepository.findById(companyId).orElseThrow(NoSuchDataException::new);
+        return companyRepository.findWithEmployeesById(companyId).orElseThrow(NoSuchDataException::new);
     }
 
 }
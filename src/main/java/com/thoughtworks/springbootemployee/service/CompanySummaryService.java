@@ -0,0 +1,169 @@
+package com.thoughtworks.springbootemployee.service;
+
+import com.thoughtworks.springbootemployee.dao.CompanyRepository;
+import com.thoughtworks.springbootemployee.dao.CompanySummaryRepository;
+import com.thoughtworks.springbootemployee.dto.CompanySummaryResponse;
+import com.thoughtworks.springbootemployee.exception.NoSuchDataException;
+import com.thoughtworks.springbootemployee.model.CompanySummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.thoughtworks.springbootemployee.mapper.CompanySummaryMapper.toCompanySummaryResponse;
+
+@Service
+public class CompanySummaryService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompanySummaryService.class);
+
+    private final CompanySummaryRepository companySummaryRepository;
+    private final CompanyRepository companyRepository;
+    private final ConcurrentMap<Integer, Accumulator> accumulators = new ConcurrentHashMap<>();
+    private final Set<Integer> staleCompanyIds = ConcurrentHashMap.newKeySet();
+
+    public CompanySummaryService(CompanySummaryRepository companySummaryRepository, CompanyRepository companyRepository) {
+        this.companySummaryRepository = companySummaryRepository;
+        this.companyRepository = companyRepository;
+    }
+
+    public CompanySummaryResponse getCompanySummary(int companyId) {
+        CompanySummary companySummary = companySummaryRepository.findById(companyId).orElseGet(() -> {
+            if (!companyRepository.existsById(companyId)) {
+                throw new NoSuchDataException();
+            }
+            return new CompanySummary(companyId, 0, 0, null, null);
+        });
+        return toCompanySummaryResponse(companySummary, staleCompanyIds.contains(companyId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (event.isBulk()) {
+            staleCompanyIds.addAll(event.getBulkCompanyIds());
+            return;
+        }
+        EmployeeChangedEvent.State before = event.getBefore();
+        EmployeeChangedEvent.State after = event.getAfter();
+        if (before != null && after != null
+                && Objects.equals(before.getCompanyId(), after.getCompanyId()) && before.getAge() == after.getAge()) {
+            if (after.getCompanyId() != null) {
+                accumulator(after.getCompanyId()).totalSalary.add(after.getSalary() - before.getSalary());
+            }
+            return;
+        }
+        if (before != null && before.getCompanyId() != null) {
+            accumulator(before.getCompanyId()).remove(before);
+        }
+        if (after != null && after.getCompanyId() != null) {
+            accumulator(after.getCompanyId()).add(after);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${company-summary.flush-interval-ms:1000}",
+            initialDelayString = "${company-summary.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        accumulators.forEach((companyId, accumulator) -> {
+            try {
+                accumulator.flush(companyId);
+            } catch (RuntimeException e) {
+                accumulator.rescanAges.set(true);
+                LOGGER.warn("Failed to flush summary of company {}", companyId, e);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${company-summary.reconcile-interval-ms:60000}",
+            initialDelayString = "${company-summary.reconcile-interval-ms:60000}")
+    public synchronized void reconcile() {
+        staleCompanyIds.clear();
+        Map<Accumulator, Snapshot> snapshots = new HashMap<>();
+        accumulators.values().forEach(accumulator -> snapshots.put(accumulator, accumulator.snapshot()));
+        companySummaryRepository.reconcile();
+        snapshots.forEach(Accumulator::discard);
+    }
+
+    private Accumulator accumulator(int companyId) {
+        return accumulators.computeIfAbsent(companyId, id -> new Accumulator());
+    }
+
+    private class Accumulator {
+        private final LongAdder headcount = new LongAdder();
+        private final DoubleAdder totalSalary = new DoubleAdder();
+        private final AtomicInteger minAge = new AtomicInteger(Integer.MAX_VALUE);
+        private final AtomicInteger maxAge = new AtomicInteger(Integer.MIN_VALUE);
+        private final AtomicBoolean rescanAges = new AtomicBoolean();
+        private long flushedHeadcount;
+        private double flushedTotalSalary;
+
+        private void add(EmployeeChangedEvent.State state) {
+            headcount.increment();
+            totalSalary.add(state.getSalary());
+            if (state.getAge() < minAge.get()) {
+                minAge.accumulateAndGet(state.getAge(), Math::min);
+            }
+            if (state.getAge() > maxAge.get()) {
+                maxAge.accumulateAndGet(state.getAge(), Math::max);
+            }
+        }
+
+        private void remove(EmployeeChangedEvent.State state) {
+            headcount.decrement();
+            totalSalary.add(-state.getSalary());
+            rescanAges.set(true);
+        }
+
+        private void flush(int companyId) {
+            long currentHeadcount = headcount.sum();
+            double currentTotalSalary = totalSalary.sum();
+            int min = minAge.getAndSet(Integer.MAX_VALUE);
+            int max = maxAge.getAndSet(Integer.MIN_VALUE);
+            boolean rescan = rescanAges.getAndSet(false);
+            long headcountDelta = currentHeadcount - flushedHeadcount;
+            double totalSalaryDelta = currentTotalSalary - flushedTotalSalary;
+            if (headcountDelta == 0 && totalSalaryDelta == 0 && min == Integer.MAX_VALUE && !rescan) {
+                return;
+            }
+            Integer newMinAge = min == Integer.MAX_VALUE ? null : min;
+            Integer newMaxAge = max == Integer.MIN_VALUE ? null : max;
+            if (companySummaryRepository.applyDelta(companyId, headcountDelta, totalSalaryDelta, newMinAge, newMaxAge) == 0) {
+                companySummaryRepository.insertDelta(companyId, headcountDelta, totalSalaryDelta, newMinAge, newMaxAge);
+            }
+            flushedHeadcount = currentHeadcount;
+            flushedTotalSalary = currentTotalSalary;
+            if (rescan) {
+                companySummaryRepository.rescanAges(companyId);
+            }
+        }
+
+        private Snapshot snapshot() {
+            return new Snapshot(headcount.sum(), totalSalary.sum());
+        }
+
+        private void discard(Snapshot snapshot) {
+            flushedHeadcount = snapshot.headcount;
+            flushedTotalSalary = snapshot.totalSalary;
+        }
+    }
+
+    private static class Snapshot {
+        private final long headcount;
+        private final double totalSalary;
+
+        private Snapshot(long headcount, double totalSalary) {
+            this.headcount = headcount;
+            this.totalSalary = totalSalary;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.thoughtworks.springbootemployee.service;
+
+public class DataChangedEvent {
+    public static final DataChangedEvent INSTANCE = new DataChangedEvent();
+
+    private DataChangedEvent() {
+    }
+}
@@ -0,0 +1,98 @@
+package com.thoughtworks.springbootemployee.service;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class EmployeeChangedEvent {
+    private final State before;
+    private final State after;
+    private final Set<Integer> bulkCompanyIds;
+
+    private EmployeeChangedEvent(State before, State after) {
+        this(before, after, null);
+    }
+
+    private EmployeeChangedEvent(State before, State after, Set<Integer> bulkCompanyIds) {
+        this.before = before;
+        this.after = after;
+        this.bulkCompanyIds = bulkCompanyIds;
+    }
+
+    public static EmployeeChangedEvent added(Employee employee) {
+        return new EmployeeChangedEvent(null, State.of(employee));
+    }
+
+    public static EmployeeChangedEvent updated(State before, Employee employee) {
+        return new EmployeeChangedEvent(before, State.of(employee));
+    }
+
+    public static EmployeeChangedEvent updated(State before, State after) {
+        return new EmployeeChangedEvent(before, after);
+    }
+
+    public static EmployeeChangedEvent removed(Employee employee) {
+        return new EmployeeChangedEvent(State.of(employee), null);
+    }
+
+    public static EmployeeChangedEvent removed(Integer companyId, int age, double salary) {
+        return new EmployeeChangedEvent(new State(companyId, age, salary), null);
+    }
+
+    public static EmployeeChangedEvent bulk(Collection<Integer> companyIds) {
+        return new EmployeeChangedEvent(null, null,
+                companyIds.stream().filter(Objects::nonNull).collect(Collectors.toSet()));
+    }
+
+    public boolean isBulk() {
+        return bulkCompanyIds != null;
+    }
+
+    public Set<Integer> getBulkCompanyIds() {
+        return bulkCompanyIds == null ? Collections.emptySet() : bulkCompanyIds;
+    }
+
+    public State getBefore() {
+        return before;
+    }
+
+    public State getAfter() {
+        return after;
+    }
+
+    public static class State {
+        private final Integer companyId;
+        private final int age;
+        private final double salary;
+
+        private State(Integer companyId, int age, double salary) {
+            this.companyId = companyId;
+            this.age = age;
+            this.salary = salary;
+        }
+
+        public static State of(Employee employee) {
+            return new State(employee.getCompanyId(), employee.getAge(), employee.getSalary());
+        }
+
+        public static State of(Integer companyId, int age, double salary) {
+            return new State(companyId, age, salary);
+        }
+
+        public Integer getCompanyId() {
+            return companyId;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public double getSalary() {
+            return salary;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.thoughtworks.springbootemployee.service;
+
+import com.thoughtworks.springbootemployee.common.IntIntMap;
+import com.thoughtworks.springbootemployee.dto.ColumnStatsResponse;
+import com.thoughtworks.springbootemployee.dto.EmployeeStatsResponse;
+import com.thoughtworks.springbootemployee.dto.HistogramBinResponse;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class EmployeeColumnStore {
+    private static final int CHUNK_SIZE = 1 << 16;
+    private static final int NO_ROW = -1;
+    private static final int NO_COMPANY = Integer.MIN_VALUE;
+    private static final byte NO_GENDER = -1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<String> genders = new ArrayList<>();
+    private final IntIntMap rowsById;
+    private int[] ids;
+    private double[] salaries;
+    private int[] ages;
+    private byte[] genderCodes;
+    private int[] companyIds;
+    private int size;
+
+    public EmployeeColumnStore(int expectedSize) {
+        int capacity = Math.max(expectedSize, 16);
+        rowsById = new IntIntMap(capacity);
+        ids = new int[capacity];
+        salaries = new double[capacity];
+        ages = new int[capacity];
+        genderCodes = new byte[capacity];
+        companyIds = new int[capacity];
+    }
+
+    public boolean upsert(int id, Map<String, Object> fields) {
+        lock.writeLock().lock();
+        try {
+            int row = rowsById.get(id, NO_ROW);
+            if (row == NO_ROW) {
+                if (!fields.keySet().containsAll(Arrays.asList("salary", "age", "gender", "companyId"))) {
+                    return false;
+                }
+                row = append(id);
+            }
+            if (fields.containsKey("salary")) {
+                salaries[row] = ((Number) fields.get("salary")).doubleValue();
+            }
+            if (fields.containsKey("age")) {
+                ages[row] = ((Number) fields.get("age")).intValue();
+            }
+            if (fields.containsKey("gender")) {
+                genderCodes[row] = genderCode((String) fields.get("gender"));
+            }
+            if (fields.containsKey("companyId")) {
+                Object companyId = fields.get("companyId");
+                companyIds[row] = companyId == null ? NO_COMPANY : ((Number) companyId).intValue();
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            int row = rowsById.remove(id, NO_ROW);
+            if (row == NO_ROW) {
+                return;
+            }
+            int last = --size;
+            if (row != last) {
+                ids[row] = ids[last];
+                salaries[row] = salaries[last];
+                ages[row] = ages[last];
+                genderCodes[row] = genderCodes[last];
+                companyIds[row] = companyIds[last];
+                rowsById.put(ids[row], row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<EmployeeStatsResponse> stats(boolean byGender, boolean byCompany, double[] percentiles, int bins) {
+        lock.readLock().lock();
+        try {
+            int chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            Map<Long, Group> groups = IntStream.range(0, chunks).parallel()
+                    .mapToObj(chunk -> scan(chunk * CHUNK_SIZE, Math.min(size, (chunk + 1) * CHUNK_SIZE), byGender, byCompany))
+                    .reduce(EmployeeColumnStore::merge)
+                    .orElseGet(HashMap::new);
+            return groups.entrySet().parallelStream()
+                    .map(group -> toStatsResponse(group.getKey(), group.getValue(), percentiles, bins))
+                    .sorted(Comparator.comparing(EmployeeStatsResponse::getGender, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+                            .thenComparing(EmployeeStatsResponse::getCompanyId, Comparator.nullsFirst(Comparator.<Integer>naturalOrder())))
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Group> scan(int from, int to, boolean byGender, boolean byCompany) {
+        Map<Long, Group> groups = new HashMap<>();
+        for (int row = from; row < to; row++) {
+            int gender = byGender ? genderCodes[row] : NO_GENDER;
+            int companyId = byCompany ? companyIds[row] : NO_COMPANY;
+            long key = (long) gender << 32 | companyId & 0xFFFFFFFFL;
+            groups.computeIfAbsent(key, ignored -> new Group()).add(salaries[row], ages[row]);
+        }
+        return groups;
+    }
+
+    private static Map<Long, Group> merge(Map<Long, Group> left, Map<Long, Group> right) {
+        right.forEach((key, group) -> left.merge(key, group, Group::addAll));
+        return left;
+    }
+
+    private EmployeeStatsResponse toStatsResponse(long key, Group group, double[] percentiles, int bins) {
+        int gender = (int) (key >> 32);
+        int companyId = (int) key;
+        EmployeeStatsResponse statsResponse = new EmployeeStatsResponse();
+        statsResponse.setGender(gender == NO_GENDER ? null : genders.get(gender));
+        statsResponse.setCompanyId(companyId == NO_COMPANY ? null : companyId);
+        statsResponse.setCount(group.size);
+        statsResponse.setSalary(toColumnStats(Arrays.copyOf(group.salaries, group.size), percentiles, bins));
+        statsResponse.setAge(toColumnStats(Arrays.copyOf(group.ages, group.size), percentiles, bins));
+        return statsResponse;
+    }
+
+    private static ColumnStatsResponse toColumnStats(double[] values, double[] percentiles, int bins) {
+        Arrays.parallelSort(values);
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        double min = values[0];
+        double max = values[values.length - 1];
+        Map<String, Double> percentileValues = new LinkedHashMap<>();
+        for (double percentile : percentiles) {
+            percentileValues.put("p" + BigDecimal.valueOf(percentile).stripTrailingZeros().toPlainString(),
+                    percentile(values, percentile));
+        }
+        ColumnStatsResponse columnStats = new ColumnStatsResponse();
+        columnStats.setSum(sum);
+        columnStats.setMean(sum / values.length);
+        columnStats.setMin(min);
+        columnStats.setMax(max);
+        columnStats.setPercentiles(percentileValues);
+        columnStats.setHistogram(histogram(values, min, max, bins));
+        return columnStats;
+    }
+
+    private static double percentile(double[] sorted, double percentile) {
+        double rank = percentile / 100 * (sorted.length - 1);
+        int lower = (int) Math.floor(rank);
+        int upper = (int) Math.ceil(rank);
+        return sorted[lower] + (sorted[upper] - sorted[lower]) * (rank - lower);
+    }
+
+    private static List<HistogramBinResponse> histogram(double[] sorted, double min, double max, int bins) {
+        double width = (max - min) / bins;
+        int[] counts = new int[bins];
+        for (double value : sorted) {
+            counts[width == 0 ? 0 : Math.min((int) ((value - min) / width), bins - 1)]++;
+        }
+        List<HistogramBinResponse> histogram = new ArrayList<>(bins);
+        for (int bin = 0; bin < bins; bin++) {
+            HistogramBinResponse binResponse = new HistogramBinResponse();
+            binResponse.setLower(min + width * bin);
+            binResponse.setUpper(bin == bins - 1 ? max : min + width * (bin + 1));
+            binResponse.setCount(counts[bin]);
+            histogram.add(binResponse);
+        }
+        return histogram;
+    }
+
+    private int append(int id) {
+        if (size == ids.length) {
+            int capacity = size + (size >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            salaries = Arrays.copyOf(salaries, capacity);
+            ages = Arrays.copyOf(ages, capacity);
+            genderCodes = Arrays.copyOf(genderCodes, capacity);
+            companyIds = Arrays.copyOf(companyIds, capacity);
+        }
+        ids[size] = id;
+        rowsById.put(id, size);
+        return size++;
+    }
+
+    private byte genderCode(String gender) {
+        if (gender == null) {
+            return NO_GENDER;
+        }
+        int code = genders.indexOf(gender);
+        if (code < 0) {
+            if (genders.size() == Byte.MAX_VALUE) {
+                throw new IllegalStateException("Too many distinct genders");
+            }
+            genders.add(gender);
+            code = genders.size() - 1;
+        }
+        return (byte) code;
+    }
+
+    private static class Group {
+        private double[] salaries = new double[16];
+        private double[] ages = new double[16];
+        private int size;
+
+        private void add(double salary, int age) {
+            if (size == salaries.length) {
+                grow(size * 2);
+            }
+            salaries[size] = salary;
+            ages[size] = age;
+            size++;
+        }
+
+        private Group addAll(Group other) {
+            if (size + other.size > salaries.length) {
+                grow(size + other.size);
+            }
+            System.arraycopy(other.salaries, 0, salaries, size, other.size);
+            System.arraycopy(other.ages, 0, ages, size, other.size);
+            size += other.size;
+            return this;
+        }
+
+        private void grow(int capacity) {
+            salaries = Arrays.copyOf(salaries, capacity);
+            ages = Arrays.copyOf(ages, capacity);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.thoughtworks.springbootemployee.service;
+
+import com.thoughtworks.springbootemployee.common.Cursor;
+import com.thoughtworks.springbootemployee.common.NameIndex;
+import com.thoughtworks.springbootemployee.dao.EmployeeName;
+import com.thoughtworks.springbootemployee.dao.EmployeeRepository;
+import com.thoughtworks.springbootemployee.dto.EmployeeNameResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+public class EmployeeNameSearchService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeNameSearchService.class);
+
+    private final EmployeeRepository employeeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final NameIndex nameIndex = new NameIndex();
+
+    public EmployeeNameSearchService(EmployeeRepository employeeRepository, PlatformTransactionManager transactionManager) {
+        this.employeeRepository = employeeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @PostConstruct
+    public void load() {
+        long start = System.nanoTime();
+        transactionTemplate.execute(status -> {
+            try (Stream<EmployeeName> employeeNames = employeeRepository.streamAllNamesBy()) {
+                employeeNames.forEach(employeeName -> nameIndex.put(employeeName.getId(), employeeName.getName()));
+            }
+            return null;
+        });
+        LOGGER.info("Indexed {} employee names in {} ms", nameIndex.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public List<EmployeeNameResponse> typeahead(String query, int limit) {
+        Cursor.checkLimit(limit);
+        return nameIndex.search(query == null ? null : query.trim(), limit).stream()
+                .map(hit -> new EmployeeNameResponse(hit.getId(), hit.getName()))
+                .collect(Collectors.toList());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeRowChanged(EmployeeRowChangedEvent event) {
+        if (event.isRemoved()) {
+            nameIndex.remove(event.getEmployeeId());
+        } else if (event.getFields().containsKey("name")) {
+            nameIndex.put(event.getEmployeeId(), (String) event.getFields().get("name"));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.thoughtworks.springbootemployee.service;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class EmployeeRowChangedEvent {
+    private final int employeeId;
+    private final Map<String, Object> fields;
+
+    private EmployeeRowChangedEvent(int employeeId, Map<String, Object> fields) {
+        this.employeeId = employeeId;
+        this.fields = fields;
+    }
+
+    public static EmployeeRowChangedEvent of(Employee employee) {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("name", employee.getName());
+        fields.put("age", employee.getAge());
+        fields.put("gender", employee.getGender());
+        fields.put("salary", employee.getSalary());
+        fields.put("companyId", employee.getCompanyId());
+        return new EmployeeRowChangedEvent(employee.getId(), fields);
+    }
+
+    public static EmployeeRowChangedEvent patched(int employeeId, Map<String, Object> fields) {
+        return new EmployeeRowChangedEvent(employeeId, fields);
+    }
+
+    public static EmployeeRowChangedEvent removed(int employeeId) {
+        return new EmployeeRowChangedEvent(employeeId, null);
+    }
+
+    public boolean isRemoved() {
+        return fields == null;
+    }
+
+    public int getEmployeeId() {
+        return employeeId;
+    }
+
+    public Map<String, Object> getFields() {
+        return fields;
+    }
+}
@@ -1,58 +1,300 @@
 package com.thoughtworks.springbootemployee.service;
 
+import com.thoughtworks.springbootemployee.common.Cursor;
+import com.thoughtworks.springbootemployee.common.IdList;
+import com.thoughtworks.springbootemployee.common.ETags;
+import com.thoughtworks.springbootemployee.common.ExceptionMessage;
+import com.thoughtworks.springbootemployee.common.JsonReturnCode;
+import com.thoughtworks.springbootemployee.common.RequestCoalescer;
 import com.thoughtworks.springbootemployee.dao.EmployeeRepository;
+import com.thoughtworks.springbootemployee.dao.PatchedEmployee;
+import com.thoughtworks.springbootemployee.dao.RemovedEmployee;
+import com.thoughtworks.springbootemployee.dto.CursorPage;
+import com.thoughtworks.springbootemployee.dto.EmployeeBatchResult;
+import com.thoughtworks.springbootemployee.dto.EmployeePatchRequest;
 import com.thoughtworks.springbootemployee.dto.EmployeeRequest;
 import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.dto.EmployeeSearchRequest;
 import com.thoughtworks.springbootemployee.exception.NoSuchDataException;
+import com.thoughtworks.springbootemployee.exception.PreconditionFailedException;
 import com.thoughtworks.springbootemployee.mapper.EmployeeMapper;
 import com.thoughtworks.springbootemployee.model.Employee;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import static com.thoughtworks.springbootemployee.mapper.EmployeeMapper.toEmployee;
+import static com.thoughtworks.springbootemployee.dao.EmployeeSpecifications.after;
+import static com.thoughtworks.springbootemployee.dao.EmployeeSpecifications.ageBetween;
+import static com.thoughtworks.springbootemployee.dao.EmployeeSpecifications.hasGender;
+import static com.thoughtworks.springbootemployee.dao.EmployeeSpecifications.hasValue;
+import static com.thoughtworks.springbootemployee.dao.EmployeeSpecifications.inCompany;
+import static com.thoughtworks.springbootemployee.dao.EmployeeSpecifications.nameStartsWith;
+import static com.thoughtworks.springbootemployee.dao.EmployeeSpecifications.salaryBetween;
+import static com.thoughtworks.springbootemployee.mapper.EmployeeMapper.toChangedFields;
+import static com.thoughtworks.springbootemployee.mapper.EmployeeMapper.toNewEmployee;
 import static com.thoughtworks.springbootemployee.mapper.EmployeeMapper.toEmployeeResponse;
+import static com.thoughtworks.springbootemployee.mapper.EmployeeMapper.toFields;
 
 @Service
 public class EmployeeService {
 
+    private static final Set<String> SEARCH_SORT_FIELDS = new HashSet<>(Arrays.asList("id", "name", "age", "salary"));
     private final EmployeeRepository employeeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public EmployeeService(EmployeeRepository employeeRepository) {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize = 50;
+
+    @Value("${employee.lookup.coalescing-window-micros:500}")
+    private long coalescingWindowMicros = 500;
+
+
+    private final RequestCoalescer<Integer, EmployeeResponse> employeeLoader =
+            new RequestCoalescer<>(this::loadEmployees, IdList.MAX_SIZE);
+
+    public EmployeeService(EmployeeRepository employeeRepository, PlatformTransactionManager transactionManager,
+                           ApplicationEventPublisher eventPublisher) {
         this.employeeRepository = employeeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
     }
 
+    @Cacheable(cacheNames = "employees", key = "#employeeId", sync = true)
     public EmployeeResponse getEmployeeById(int employeeId) {
-        return toEmployeeResponse(employeeRepository.findById(employeeId).orElseThrow(NoSuchDataException::new));
+        EmployeeResponse employee = employeeLoader.load(employeeId, TimeUnit.MICROSECONDS.toNanos(coalescingWindowMicros));
+        if (employee == null) {
+            throw new NoSuchDataException();
+        }
+        return employee;
     }
 
+    public List<EmployeeResponse> getEmployeesByIds(List<Integer> employeeIds) {
+        IdList.checkSize(employeeIds);
+        Map<Integer, EmployeeResponse> employees = employeeRepository.findAllById(employeeIds).stream()
+                .collect(Collectors.toMap(Employee::getId, EmployeeMapper::toEmployeeResponse));
+        return employeeIds.stream().distinct().map(employees::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    private Map<Integer, EmployeeResponse> loadEmployees(Set<Integer> employeeIds) {
+        if (employeeIds.size() == 1) {
+            Integer employeeId = employeeIds.iterator().next();
+            return employeeRepository.findById(employeeId)
+                    .map(employee -> Collections.singletonMap(employeeId, toEmployeeResponse(employee)))
+                    .orElse(Collections.emptyMap());
+        }
+        return employeeRepository.findAllById(employeeIds).stream()
+                .collect(Collectors.toMap(Employee::getId, EmployeeMapper::toEmployeeResponse));
+    }
+
+    public String getEmployeeETag(int employeeId) {
+        return ETags.of(employeeRepository.findVersionById(employeeId).orElseThrow(NoSuchDataException::new));
+    }
+
+    @Caching(evict = {@CacheEvict(cacheNames = "employees", key = "#result.id"),
+            @CacheEvict(cacheNames = "companies", allEntries = true)})
     public EmployeeResponse addEmployee(EmployeeRequest employeeRequest) {
-        return toEmployeeResponse(employeeRepository.save(toEmployee(employeeRequest)));
+        Employee employee = employeeRepository.save(toNewEmployee(employeeRequest));
+        eventPublisher.publishEvent(EmployeeChangedEvent.added(employee));
+        eventPublisher.publishEvent(EmployeeRowChangedEvent.of(employee));
+        eventPublisher.publishEvent(DataChangedEvent.INSTANCE);
+        return toEmployeeResponse(employee);
+    }
+
+    @CacheEvict(cacheNames = "companies", allEntries = true)
+    public List<EmployeeBatchResult> addEmployees(Iterator<EmployeeRequest> employeeRequests) {
+        List<EmployeeBatchResult> results = new ArrayList<>();
+        Map<Integer, EmployeeRequest> chunk = new LinkedHashMap<>();
+        for (int index = 0; employeeRequests.hasNext(); index++) {
+            EmployeeRequest employeeRequest = employeeRequests.next();
+            if (employeeRequest.getName() == null || employeeRequest.getName().trim().isEmpty()) {
+                results.add(new EmployeeBatchResult(index, null, JsonReturnCode.ILLEGAL_ARGUMEN));
+                continue;
+            }
+            chunk.put(index, employeeRequest);
+            if (chunk.size() == batchSize) {
+                results.addAll(insertChunk(chunk));
+                chunk.clear();
+            }
+        }
+        results.addAll(insertChunk(chunk));
+        results.sort(Comparator.comparingInt(EmployeeBatchResult::getIndex));
+        eventPublisher.publishEvent(DataChangedEvent.INSTANCE);
+        return results;
+    }
+
+    private List<EmployeeBatchResult> insertChunk(Map<Integer, EmployeeRequest> chunk) {
+        if (chunk.isEmpty()) {
+            return Collections.emptyList();
+        }
+        try {
+            return transactionTemplate.execute(status -> persistChunk(chunk));
+        } catch (PersistenceException | DataAccessException e) {
+            if (chunk.size() == 1) {
+                return Collections.singletonList(new EmployeeBatchResult(chunk.keySet().iterator().next(), null, JsonReturnCode.FAIL));
+            }
+            List<EmployeeBatchResult> results = new ArrayList<>();
+            chunk.forEach((index, employeeRequest) -> results.addAll(insertChunk(Collections.singletonMap(index, employeeRequest))));
+            return results;
+        }
     }
 
-    public EmployeeResponse updateEmployee(int employeeId, EmployeeRequest employeeRequest) {
+    private List<EmployeeBatchResult> persistChunk(Map<Integer, EmployeeRequest> chunk) {
+        List<EmployeeBatchResult> results = new ArrayList<>(chunk.size());
+        chunk.forEach((index, employeeRequest) -> {
+            Employee employee = toNewEmployee(employeeRequest);
+            entityManager.persist(employee);
+            eventPublisher.publishEvent(EmployeeChangedEvent.added(employee));
+            eventPublisher.publishEvent(EmployeeRowChangedEvent.of(employee));
+            results.add(new EmployeeBatchResult(index, employee.getId(), JsonReturnCode.SUCCESS));
+        });
+        entityManager.flush();
+        entityManager.clear();
+        return results;
+    }
+
+    @Transactional
+    @Caching(evict = {@CacheEvict(cacheNames = "employees", key = "#employeeId"),
+            @CacheEvict(cacheNames = "companies", allEntries = true)})
+    public EmployeeResponse updateEmployee(int employeeId, EmployeeRequest employeeRequest, String ifMatch) {
         Employee employee = employeeRepository.findById(employeeId).orElseThrow(NoSuchDataException::new);
+        if (ifMatch != null && !ETags.matches(ifMatch, ETags.of(employee.getVersion()))) {
+            throw new PreconditionFailedException();
+        }
+        EmployeeChangedEvent.State before = EmployeeChangedEvent.State.of(employee);
         employee.setAge(employeeRequest.getAge());
         employee.setGender(employeeRequest.getGender());
         employee.setName(employeeRequest.getName());
         employee.setSalary(employeeRequest.getSalary());
-        return toEmployeeResponse(employeeRepository.save(employee));
+        Employee updatedEmployee;
+        try {
+            updatedEmployee = employeeRepository.saveAndFlush(employee);
+        } catch (OptimisticLockingFailureException e) {
+            if (ifMatch != null) {
+                throw new PreconditionFailedException();
+            }
+            throw e;
+        }
+        eventPublisher.publishEvent(EmployeeChangedEvent.updated(before, updatedEmployee));
+        eventPublisher.publishEvent(EmployeeRowChangedEvent.of(updatedEmployee));
+        eventPublisher.publishEvent(DataChangedEvent.INSTANCE);
+        return toEmployeeResponse(updatedEmployee);
+    }
+
+    @Transactional
+    @Caching(evict = {@CacheEvict(cacheNames = "employees", key = "#employeeId"),
+            @CacheEvict(cacheNames = "companies", allEntries = true)})
+    public void patchEmployee(int employeeId, EmployeePatchRequest employeePatchRequest) {
+        Map<String, Object> fields = toChangedFields(employeePatchRequest);
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException(ExceptionMessage.IllegalArgumentException.getErrorMsg());
+        }
+        boolean summaryChanged = employeePatchRequest.getSalary() != null || employeePatchRequest.getAge() != null
+                || employeePatchRequest.getCompanyId() != null;
+        if (summaryChanged) {
+            PatchedEmployee before = (fields.size() == 1 && employeePatchRequest.getSalary() != null
+                    ? employeeRepository.updateSalaryById(employeeId, employeePatchRequest.getSalary())
+                    : employeeRepository.updateReturningPreviousById(employeeId, fields))
+                    .orElseThrow(NoSuchDataException::new);
+            EmployeeChangedEvent.State after = EmployeeChangedEvent.State.of(
+                    Optional.ofNullable(employeePatchRequest.getCompanyId()).orElse(before.getCompanyId()),
+                    Optional.ofNullable(employeePatchRequest.getAge()).orElse(before.getAge()),
+                    Optional.ofNullable(employeePatchRequest.getSalary()).orElse(before.getSalary()));
+            eventPublisher.publishEvent(EmployeeChangedEvent.updated(
+                    EmployeeChangedEvent.State.of(before.getCompanyId(), before.getAge(), before.getSalary()), after));
+        } else if (employeeRepository.updateById(employeeId, fields) == 0) {
+            throw new NoSuchDataException();
+        }
+        eventPublisher.publishEvent(EmployeeRowChangedEvent.patched(employeeId, fields));
+        eventPublisher.publishEvent(DataChangedEvent.INSTANCE);
     }
 
+    @Transactional
+    @Caching(evict = {@CacheEvict(cacheNames = "employees", key = "#employeeId"),
+            @CacheEvict(cacheNames = "companies", allEntries = true)})
     public void deleteEmployeeById(int employeeId) {
-        employeeRepository.deleteById(employeeId);
+        if (removeEmployees(Collections.singletonList(employeeId)) == 0) {
+            throw new NoSuchDataException();
+        }
+    }
+
+    @Transactional
+    @Caching(evict = {@CacheEvict(cacheNames = "employees", allEntries = true),
+            @CacheEvict(cacheNames = "companies", allEntries = true)})
+    public int deleteEmployeesByIds(List<Integer> employeeIds) {
+        IdList.checkSize(employeeIds);
+        return removeEmployees(employeeIds);
+    }
+
+    private int removeEmployees(Collection<Integer> employeeIds) {
+        List<RemovedEmployee> removedEmployees = employeeRepository.removeByIdIn(employeeIds);
+        removedEmployees.forEach(removedEmployee -> {
+            eventPublisher.publishEvent(EmployeeChangedEvent.removed(
+                    removedEmployee.getCompanyId(), removedEmployee.getAge(), removedEmployee.getSalary()));
+            eventPublisher.publishEvent(EmployeeRowChangedEvent.removed(removedEmployee.getId()));
+        });
+        eventPublisher.publishEvent(DataChangedEvent.INSTANCE);
+        return removedEmployees.size();
     }
 
     public List<EmployeeResponse> getAllEmployees() {
 
-        return employeeRepository.findAll().stream()
+        return employeeRepository.findAll(Sort.by("id")).stream()
                 .map(EmployeeMapper::toEmployeeResponse)
                 .collect(Collectors.toList());
     }
 
+    public List<Map<String, Object>> getAllEmployees(List<String> fields) {
+        return employeeRepository.findFields(null, toFields(fields), Sort.by("id"));
+    }
+
+    @Transactional(readOnly = true)
+    public void exportEmployees(Consumer<EmployeeResponse> consumer) {
+        try (Stream<Employee> employees = employeeRepository.streamAllBy()) {
+            employees.forEach(employee -> {
+                consumer.accept(toEmployeeResponse(employee));
+                entityManager.detach(employee);
+            });
+        }
+    }
+
     public List<EmployeeResponse> getEmployeesByGender(String gender) {
 
         return employeeRepository.findAllByGender(gender).stream()
@@ -64,4 +306,75 @@ public class EmployeeService {
         return employeeRepository.findAll(PageRequest.of(page, pageSize));
     }
 
+    public Slice<EmployeeResponse> getSliceEmployees(int page, int pageSize) {
+        return employeeRepository.findAllBy(PageRequest.of(page, pageSize))
+                .map(EmployeeMapper::toEmployeeResponse);
+    }
+
+    public CursorPage<EmployeeResponse> getEmployeesAfter(String after, int limit) {
+        Cursor.checkLimit(limit);
+        List<Employee> employees = employeeRepository
+                .findAllByIdGreaterThanOrderByIdAsc(Cursor.decode(after), PageRequest.of(0, limit + 1));
+        return CursorPage.of(employees, limit, Employee::getId, EmployeeMapper::toEmployeeResponse);
+    }
+
+    public CursorPage<EmployeeResponse> searchEmployees(EmployeeSearchRequest searchRequest) {
+        int limit = searchRequest.getLimit();
+        Cursor.checkLimit(limit);
+        String sortField = searchRequest.getSort() == null ? "id" : searchRequest.getSort();
+        if (!SEARCH_SORT_FIELDS.contains(sortField)) {
+            throw new IllegalArgumentException(ExceptionMessage.IllegalArgumentException.getErrorMsg());
+        }
+        Sort.Direction direction = searchRequest.getDirection() == null ? Sort.Direction.ASC
+                : Sort.Direction.fromOptionalString(searchRequest.getDirection()).orElseThrow(
+                        () -> new IllegalArgumentException(ExceptionMessage.IllegalArgumentException.getErrorMsg()));
+        Specification<Employee> specification = Specification.where(hasGender(searchRequest.getGender()))
+                .and(inCompany(searchRequest.getCompanyId()))
+                .and(ageBetween(searchRequest.getMinAge(), searchRequest.getMaxAge()))
+                .and(salaryBetween(searchRequest.getMinSalary(), searchRequest.getMaxSalary()))
+                .and(nameStartsWith(searchRequest.getNamePrefix()));
+        if ("name".equals(sortField)) {
+            specification = specification.and(hasValue("name"));
+        }
+        if (searchRequest.getAfter() != null) {
+            specification = specification.and(afterKeyset(sortField, Cursor.decodeKeyset(searchRequest.getAfter()), direction));
+        }
+        Sort sort = "id".equals(sortField) ? Sort.by(direction, "id") : Sort.by(direction, sortField, "id");
+        List<Employee> employees = employeeRepository.search(specification, sort, limit + 1);
+        return CursorPage.withCursor(employees, limit,
+                employee -> Cursor.encodeKeyset(employee.getId(), sortValueOf(sortField, employee)),
+                EmployeeMapper::toEmployeeResponse);
+    }
+
+    private static Specification<Employee> afterKeyset(String sortField, Cursor.Keyset keyset, Sort.Direction direction) {
+        String lastValue = keyset.getLastValue();
+        if ("id".equals(sortField)) {
+            return after(sortField, null, keyset.getLastId(), direction);
+        }
+        if (lastValue == null) {
+            throw new IllegalArgumentException(ExceptionMessage.IllegalArgumentException.getErrorMsg());
+        }
+        switch (sortField) {
+            case "age":
+                return after(sortField, Integer.valueOf(lastValue), keyset.getLastId(), direction);
+            case "salary":
+                return after(sortField, Double.valueOf(lastValue), keyset.getLastId(), direction);
+            default:
+                return after(sortField, lastValue, keyset.getLastId(), direction);
+        }
+    }
+
+    private static Object sortValueOf(String sortField, Employee employee) {
+        switch (sortField) {
+            case "name":
+                return employee.getName();
+            case "age":
+                return employee.getAge();
+            case "salary":
+                return employee.getSalary();
+            default:
+                return null;
+        }
+    }
+
 }
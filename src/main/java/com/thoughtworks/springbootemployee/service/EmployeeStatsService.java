@@ -0,0 +1,97 @@
+package com.thoughtworks.springbootemployee.service;
+
+import com.thoughtworks.springbootemployee.common.ExceptionMessage;
+import com.thoughtworks.springbootemployee.dao.EmployeeRepository;
+import com.thoughtworks.springbootemployee.dto.EmployeeStatsResponse;
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.thoughtworks.springbootemployee.service.EmployeeRowChangedEvent.of;
+
+@Service
+public class EmployeeStatsService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeStatsService.class);
+    private static final int MAX_BINS = 1000;
+    private static final List<String> STATS_GROUPS = Arrays.asList("gender", "companyId");
+
+    private final EmployeeRepository employeeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private volatile EmployeeColumnStore columnStore = new EmployeeColumnStore(0);
+    private final Object columnStoreLock = new Object();
+    private List<EmployeeRowChangedEvent> eventsDuringReload;
+
+    public EmployeeStatsService(EmployeeRepository employeeRepository, PlatformTransactionManager transactionManager) {
+        this.employeeRepository = employeeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${employee-stats.reload-interval-ms:300000}",
+            initialDelayString = "${employee-stats.reload-interval-ms:300000}")
+    public synchronized void reload() {
+        long start = System.nanoTime();
+        synchronized (columnStoreLock) {
+            eventsDuringReload = new ArrayList<>();
+        }
+        EmployeeColumnStore reloaded = new EmployeeColumnStore((int) employeeRepository.count());
+        try {
+            transactionTemplate.execute(status -> {
+                try (Stream<Employee> employees = employeeRepository.streamAllBy()) {
+                    employees.forEach(employee -> reloaded.upsert(employee.getId(), of(employee).getFields()));
+                }
+                return null;
+            });
+            synchronized (columnStoreLock) {
+                eventsDuringReload.forEach(event -> apply(reloaded, event));
+                columnStore = reloaded;
+            }
+        } finally {
+            synchronized (columnStoreLock) {
+                eventsDuringReload = null;
+            }
+        }
+        LOGGER.info("Loaded {} employees into the stats column store in {} ms", reloaded.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public List<EmployeeStatsResponse> getStats(List<String> groupBy, List<Double> percentiles, int bins) {
+        if (bins <= 0 || bins > MAX_BINS || !STATS_GROUPS.containsAll(groupBy)
+                || percentiles.stream().anyMatch(percentile -> percentile == null || percentile < 0 || percentile > 100)) {
+            throw new IllegalArgumentException(ExceptionMessage.IllegalArgumentException.getErrorMsg());
+        }
+        return columnStore.stats(groupBy.contains("gender"), groupBy.contains("companyId"),
+                percentiles.stream().mapToDouble(Double::doubleValue).toArray(), bins);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeRowChanged(EmployeeRowChangedEvent event) {
+        synchronized (columnStoreLock) {
+            if (eventsDuringReload != null) {
+                eventsDuringReload.add(event);
+            }
+            apply(columnStore, event);
+        }
+    }
+
+    private static void apply(EmployeeColumnStore columnStore, EmployeeRowChangedEvent event) {
+        if (event.isRemoved()) {
+            columnStore.remove(event.getEmployeeId());
+        } else if (!columnStore.upsert(event.getEmployeeId(), event.getFields())) {
+            LOGGER.warn("Employee {} is not in the stats column store, it will be picked up by the next reload",
+                    event.getEmployeeId());
+        }
+    }
+}
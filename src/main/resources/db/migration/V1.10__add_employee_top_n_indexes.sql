@@ -0,0 +1,2 @@
+create index idx_employee_company_id_salary_desc_id_desc on employee(company_id, salary desc, id desc);
+create index idx_employee_company_id_age_desc_id_desc on employee(company_id, age desc, id desc);
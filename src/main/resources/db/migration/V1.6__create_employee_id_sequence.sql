@@ -0,0 +1,2 @@
+create sequence employee_id_seq start with 50 increment by 50;
+alter sequence employee_id_seq restart with (select coalesce(max(id), 0) + 50 from employee);
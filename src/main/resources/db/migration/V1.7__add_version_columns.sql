@@ -0,0 +1,2 @@
+alter table employee add column version int default 0 not null;
+alter table company add column version int default 0 not null;
@@ -0,0 +1,13 @@
+create table company_summary (
+    company_id INTEGER PRIMARY KEY,
+    headcount INT default 0 not null,
+    total_salary DOUBLE default 0 not null,
+    min_age INT,
+    max_age INT,
+    foreign key (company_id) references company(id) on delete cascade
+);
+
+insert into company_summary (company_id, headcount, total_salary, min_age, max_age)
+select c.id, count(e.id), coalesce(sum(e.salary), 0), min(e.age), max(e.age)
+from company c left join employee e on e.company_id = c.id
+group by c.id;
@@ -0,0 +1,5 @@
+drop index idx_employee_gender;
+create index idx_employee_gender_age_id on employee(gender, age, id);
+create index idx_employee_company_id_salary_id on employee(company_id, salary, id);
+create index idx_employee_salary_id on employee(salary, id);
+create index idx_employee_name_id on employee(name, id);
@@ -1,25 +1,42 @@
 package com.thoughtworks.springbootemployee;
 
 import com.alibaba.fastjson.JSON;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.thoughtworks.springbootemployee.common.ResponseCache;
 import com.thoughtworks.springbootemployee.dao.CompanyRepository;
 import com.thoughtworks.springbootemployee.dao.EmployeeRepository;
 import com.thoughtworks.springbootemployee.model.Company;
 import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.service.CompanySummaryService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.util.StreamUtils;
 
+import java.io.ByteArrayInputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import static org.assertj.core.util.Lists.emptyList;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -36,10 +53,21 @@ public class CompanyIntegrationTest {
     @Autowired
     private CompanyRepository companyRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private CompanySummaryService companySummaryService;
+
     @BeforeEach
     void tearDown() {
         employeeRepository.deleteAll();
         companyRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        responseCache.invalidateAll();
     }
 
     @Test
@@ -55,6 +83,49 @@ public class CompanyIntegrationTest {
         //then
     }
 
+    @Test
+    void should_not_compress_when_get_all_companies_given_gzip_refused_with_zero_quality() throws Exception {
+        //given
+        companyRepository.save(new Company(1, "huawei", 100, emptyList()));
+        //when
+        //then
+        mockMvc.perform(get("/companies").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$.data.length()").value(1));
+    }
+
+    @Test
+    void should_serve_cached_bytes_until_company_written_when_get_all_companies() throws Exception {
+        //given
+        companyRepository.save(new Company(1, "huawei", 100, emptyList()));
+        MvcResult first = mockMvc.perform(get("/companies")).andExpect(status().isOk()).andReturn();
+        String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        //when
+        //then
+        mockMvc.perform(get("/companies").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        MvcResult gzipped = mockMvc.perform(get("/companies").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getResponse().getContentAsByteArray()))) {
+            assertArrayEquals(first.getResponse().getContentAsByteArray(), StreamUtils.copyToByteArray(in));
+        }
+        String gzipETag = gzipped.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(eTag, gzipETag);
+        mockMvc.perform(get("/companies").header(HttpHeaders.ACCEPT_ENCODING, "gzip").header(HttpHeaders.IF_NONE_MATCH, gzipETag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/companies").header(HttpHeaders.ACCEPT_ENCODING, "gzip").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/companies").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\":0,\"companyName\":\"alibaba\",\"employeesNumber\":10}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/companies").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2));
+    }
+
     @Test
     void should_return_employees_when_getAllEmployees_given_() throws Exception {
         //given
@@ -74,6 +145,116 @@ public class CompanyIntegrationTest {
 
     }
 
+    @Test
+    void should_return_smile_when_get_employees_of_company_given_accept_smile() throws Exception {
+        //given
+        Company company = companyRepository.save(new Company(1, "huawei", 100, emptyList()));
+        List<Employee> employees = employeeRepository.saveAll(getMockEmployees(company.getId()));
+        //when
+        byte[] body = mockMvc.perform(get("/companies/" + company.getId() + "/employees").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+        //then
+        JsonNode result = new ObjectMapper(new SmileFactory()).readTree(body);
+        assertEquals(10, result.get("data").size());
+        assertEquals(employees.get(0).getName(), result.get("data").get(0).get("name").textValue());
+    }
+
+    @Test
+    void should_return_only_requested_fields_when_get_employees_of_company_given_fields() throws Exception {
+        //given
+        Company company = companyRepository.save(new Company(1, "huawei", 100, emptyList()));
+        List<Employee> employees = employeeRepository.saveAll(getMockEmployees(company.getId()));
+        //when
+        mockMvc.perform(get("/companies/" + company.getId() + "/employees").param("fields", "name,salary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(10))
+                .andExpect(jsonPath("$.data[0].name").value(employees.get(0).getName()))
+                .andExpect(jsonPath("$.data[0].salary").value(employees.get(0).getSalary()))
+                .andExpect(jsonPath("$.data[0].id").doesNotExist())
+                .andExpect(jsonPath("$.data[0].companyId").doesNotExist());
+        //then
+    }
+
+    @Test
+    void should_reject_request_when_get_employees_of_company_given_fields_and_page() throws Exception {
+        //given
+        Company company = companyRepository.save(new Company(1, "huawei", 100, emptyList()));
+        employeeRepository.saveAll(getMockEmployees(company.getId()));
+        //when
+        mockMvc.perform(get("/companies/" + company.getId() + "/employees")
+                .param("page", "1").param("pageSize", "2").param("fields", "id"))
+                .andExpect(status().isNotExtended());
+        //then
+    }
+
+    @Test
+    void should_return_employee_page_when_get_employees_of_company_given_page_and_pageSize() throws Exception {
+        //given
+        Company company = companyRepository.save(new Company(1, "huawei", 100, emptyList()));
+        employeeRepository.saveAll(getMockEmployees(company.getId()));
+        //when
+        mockMvc.perform(get("/companies/" + company.getId() + "/employees")
+                .param("page", "2")
+                .param("pageSize", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.numberOfElements").value(4))
+                .andExpect(jsonPath("$.data.totalElements").value(10))
+                .andExpect(jsonPath("$.data.content[0].name").value("xiaowu"));
+        //then
+    }
+
+    @Test
+    void should_return_oldest_employees_when_get_top_employees_of_company_given_by_age() throws Exception {
+        //given
+        Company company = companyRepository.save(new Company(1, "huawei", 100, emptyList()));
+        List<Employee> employees = employeeRepository.saveAll(getMockEmployees(company.getId()));
+        //when
+        //then
+        mockMvc.perform(get("/companies/" + company.getId() + "/employees/top").param("by", "age").param("n", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(3))
+                .andExpect(jsonPath("$.data[0].id").value(employees.get(7).getId()))
+                .andExpect(jsonPath("$.data[1].id").value(employees.get(6).getId()))
+                .andExpect(jsonPath("$.data[2].id").value(employees.get(5).getId()));
+    }
+
+    @Test
+    void should_return_top_employees_of_every_company_when_get_top_employees_across_companies() throws Exception {
+        //given
+        Company huawei = companyRepository.save(new Company(1, "huawei", 100, emptyList()));
+        Company alibaba = companyRepository.save(new Company(2, "alibaba", 100, emptyList()));
+        List<Employee> huaweiEmployees = employeeRepository.saveAll(getMockEmployees(huawei.getId()));
+        List<Employee> alibabaEmployees = getMockEmployees(alibaba.getId());
+        alibabaEmployees.get(0).setSalary(90000.0);
+        alibabaEmployees = employeeRepository.saveAll(alibabaEmployees);
+        //when
+        //then
+        mockMvc.perform(get("/companies/employees/top").param("by", "salary").param("n", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].companyId").value(huawei.getId()))
+                .andExpect(jsonPath("$.data[0].employees[0].id").value(huaweiEmployees.get(9).getId()))
+                .andExpect(jsonPath("$.data[0].employees[1].id").value(huaweiEmployees.get(8).getId()))
+                .andExpect(jsonPath("$.data[1].companyId").value(alibaba.getId()))
+                .andExpect(jsonPath("$.data[1].employees[0].id").value(alibabaEmployees.get(0).getId()))
+                .andExpect(jsonPath("$.data[1].employees[1].id").value(alibabaEmployees.get(9).getId()));
+    }
+
+    @Test
+    void should_return_400_when_get_top_employees_of_company_given_unknown_ranking() throws Exception {
+        Company company = companyRepository.save(new Company(1, "huawei", 100, emptyList()));
+        mockMvc.perform(get("/companies/" + company.getId() + "/employees/top").param("by", "name"))
+                .andExpect(status().isNotExtended());
+    }
+
+    @Test
+    void should_return_404_when_get_employees_of_company_given_company_id_inexistence() throws Exception {
+        mockMvc.perform(get("/companies/" + Integer.MAX_VALUE + "/employees").param("limit", "5"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void should_return_company_when_get_company_by_id_given_company_id() throws Exception {
         //given
@@ -88,6 +269,30 @@ public class CompanyIntegrationTest {
 
     }
 
+    @Test
+    void should_return_companies_with_employees_when_get_companies_given_ids() throws Exception {
+        //given
+        List<Company> companies = companyRepository.saveAll(getMockCompanies());
+        employeeRepository.save(new Employee(0, "xiaoyi", 18, "Male", 3000.0, companies.get(0).getId()));
+        //when
+        mockMvc.perform(get("/companies").param("ids", companies.get(1).getId() + "," + companies.get(0).getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].id").value(companies.get(1).getId()))
+                .andExpect(jsonPath("$.data[1].employees.length()").value(1));
+        //then
+    }
+
+    @Test
+    void should_reject_request_when_get_companies_given_ids_and_limit() throws Exception {
+        //given
+        List<Company> companies = companyRepository.saveAll(getMockCompanies());
+        //when
+        mockMvc.perform(get("/companies").param("ids", String.valueOf(companies.get(0).getId())).param("limit", "2"))
+                .andExpect(status().isNotExtended());
+        //then
+    }
+
     @Test
     void should_return_company_when_add_company_given_company() throws Exception {
         //given
@@ -120,12 +325,152 @@ public class CompanyIntegrationTest {
         //then
     }
 
+    @Test
+    void should_not_return_stale_company_when_get_company_by_id_after_write() throws Exception {
+        //given
+        Company company = companyRepository.save(new Company(1, "alibaba2", 100, Collections.emptyList()));
+        mockMvc.perform(get("/companies/" + company.getId()))
+                .andExpect(jsonPath("$.data.companyName").value("alibaba2"))
+                .andExpect(jsonPath("$.data.employees.length()").value(0));
+        String json = JSON.toJSONString(new Company(company.getId(), "xiaomi", 200, null));
+        //when
+        mockMvc.perform(put("/companies/" + company.getId()).contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/employees").contentType(MediaType.APPLICATION_JSON)
+                .content(JSON.toJSONString(new Employee(0, "xiaoyi", 18, "Male", 30000.0, company.getId()))))
+                .andExpect(status().isCreated());
+        //then
+        mockMvc.perform(get("/companies/" + company.getId()))
+                .andExpect(jsonPath("$.data.companyName").value("xiaomi"))
+                .andExpect(jsonPath("$.data.employees.length()").value(1));
+        mockMvc.perform(get("/caches"))
+                .andExpect(jsonPath("$.data[?(@.name == 'companies')].hitCount").value(0));
+    }
+
+    @Test
+    void should_update_only_given_fields_when_patch_company_given_company_name() throws Exception {
+        //given
+        Company company = companyRepository.save(new Company(1, "alibaba2", 100, Collections.emptyList()));
+        //when
+        mockMvc.perform(patch("/companies/" + company.getId()).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"companyName\":\"xiaomi\"}"))
+                .andExpect(status().isOk());
+        //then
+        mockMvc.perform(get("/companies/" + company.getId()))
+                .andExpect(jsonPath("$.data.companyName").value("xiaomi"))
+                .andExpect(jsonPath("$.data.employeesNumber").value(100));
+        mockMvc.perform(patch("/companies/" + Integer.MAX_VALUE).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"companyName\":\"xiaomi\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void should_return_304_until_employee_added_when_get_company_by_id_given_if_none_match() throws Exception {
+        //given
+        Company company = companyRepository.save(new Company(1, "alibaba2", 100, Collections.emptyList()));
+        String eTag = mockMvc.perform(get("/companies/" + company.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        //when
+        mockMvc.perform(get("/companies/" + company.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(post("/employees").contentType(MediaType.APPLICATION_JSON)
+                .content(JSON.toJSONString(new Employee(0, "xiaoyi", 18, "Male", 30000.0, company.getId()))))
+                .andExpect(status().isCreated());
+        //then
+        mockMvc.perform(get("/companies/" + company.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.employees.length()").value(1));
+    }
+
+    @Test
+    void should_maintain_summary_incrementally_when_add_update_and_delete_employees() throws Exception {
+        //given
+        Company company = companyRepository.save(new Company(0, "alibaba2", 100, Collections.emptyList()));
+        List<Integer> employeeIds = new ArrayList<>();
+        for (Employee employee : Arrays.asList(new Employee(0, "xiaoyi", 18, "Male", 3000.0, company.getId()),
+                new Employee(0, "xiaoer", 30, "Female", 5000.0, company.getId()),
+                new Employee(0, "xiaosan", 45, "Male", 7000.0, company.getId()))) {
+            String response = mockMvc.perform(post("/employees").contentType(MediaType.APPLICATION_JSON)
+                    .content(JSON.toJSONString(employee)))
+                    .andReturn().getResponse().getContentAsString();
+            employeeIds.add(JSON.parseObject(response).getJSONObject("data").getInteger("id"));
+        }
+        //when
+        mockMvc.perform(put("/employees/" + employeeIds.get(1)).contentType(MediaType.APPLICATION_JSON)
+                .content(JSON.toJSONString(new Employee(employeeIds.get(1), "xiaoer", 30, "Female", 6000.0, company.getId()))))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/employees/" + employeeIds.get(0))).andExpect(status().isOk());
+        companySummaryService.flush();
+        //then
+        mockMvc.perform(get("/companies/" + company.getId() + "/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.headcount").value(2))
+                .andExpect(jsonPath("$.data.totalSalary").value(13000.0))
+                .andExpect(jsonPath("$.data.minAge").value(30))
+                .andExpect(jsonPath("$.data.maxAge").value(45))
+                .andExpect(jsonPath("$.data.stale").value(false));
+    }
+
+    @Test
+    void should_maintain_summary_incrementally_when_patch_employee_salary_and_company() throws Exception {
+        //given
+        Company company = companyRepository.save(new Company(0, "alibaba2", 100, Collections.emptyList()));
+        Company otherCompany = companyRepository.save(new Company(0, "huawei", 100, Collections.emptyList()));
+        List<Integer> employeeIds = new ArrayList<>();
+        for (Employee employee : Arrays.asList(new Employee(0, "xiaoyi", 18, "Male", 3000.0, company.getId()),
+                new Employee(0, "xiaoer", 30, "Female", 5000.0, company.getId()))) {
+            String response = mockMvc.perform(post("/employees").contentType(MediaType.APPLICATION_JSON)
+                    .content(JSON.toJSONString(employee)))
+                    .andReturn().getResponse().getContentAsString();
+            employeeIds.add(JSON.parseObject(response).getJSONObject("data").getInteger("id"));
+        }
+        companySummaryService.reconcile();
+        //when
+        mockMvc.perform(patch("/employees/" + employeeIds.get(0)).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"salary\":4000.0}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/employees/" + employeeIds.get(1)).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"companyId\":" + otherCompany.getId() + "}"))
+                .andExpect(status().isOk());
+        companySummaryService.flush();
+        //then
+        mockMvc.perform(get("/companies/" + company.getId() + "/summary"))
+                .andExpect(jsonPath("$.data.headcount").value(1))
+                .andExpect(jsonPath("$.data.totalSalary").value(4000.0))
+                .andExpect(jsonPath("$.data.stale").value(false));
+        mockMvc.perform(get("/companies/" + otherCompany.getId() + "/summary"))
+                .andExpect(jsonPath("$.data.headcount").value(1))
+                .andExpect(jsonPath("$.data.totalSalary").value(5000.0))
+                .andExpect(jsonPath("$.data.minAge").value(30))
+                .andExpect(jsonPath("$.data.stale").value(false));
+        mockMvc.perform(get("/companies/" + Integer.MAX_VALUE + "/summary"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void should_delete_company_and_its_employees_when_delete_company_by_id_given_company_with_employees() throws Exception {
+        //given
+        Company company = companyRepository.save(new Company(0, "alibaba2", 100, Collections.emptyList()));
+        employeeRepository.save(new Employee(0, "xiaoyi", 18, "Male", 3000.0, company.getId()));
+        employeeRepository.save(new Employee(0, "xiaoer", 30, "Female", 5000.0, company.getId()));
+        //when
+        mockMvc.perform(delete("/companies/" + company.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").value(2));
+        //then
+        assertFalse(companyRepository.findById(company.getId()).isPresent());
+        assertEquals(0, employeeRepository.count());
+        mockMvc.perform(delete("/companies/" + company.getId())).andExpect(status().isNotFound());
+    }
+
     @Test
     void should_when_delete_company_by_id_given_company_id() throws Exception {
         //given
         Company company = companyRepository.save(new Company(1, "alibaba2", 100, Collections.emptyList()));
         //when
-        mockMvc.perform(delete("/companies/" + company.getId())).andExpect(status().isOk());
+        mockMvc.perform(delete("/companies/" + company.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").value(0));
         //then
         assertFalse(companyRepository.findById(company.getId()).isPresent());
     }
@@ -1,38 +1,51 @@
 package com.thoughtworks.springbootemployee;
 
+import com.thoughtworks.springbootemployee.common.Cursor;
 import com.thoughtworks.springbootemployee.dao.CompanyRepository;
+import com.thoughtworks.springbootemployee.dao.EmployeeRepository;
 import com.thoughtworks.springbootemployee.dto.CompanyRequest;
 import com.thoughtworks.springbootemployee.dto.CompanyResponse;
+import com.thoughtworks.springbootemployee.dto.CursorPage;
 import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
 import com.thoughtworks.springbootemployee.exception.IllegalOperationException;
 import com.thoughtworks.springbootemployee.exception.NoSuchDataException;
+import com.thoughtworks.springbootemployee.exception.PreconditionFailedException;
+import com.thoughtworks.springbootemployee.mapper.CompanyMapper;
 import com.thoughtworks.springbootemployee.model.Company;
 import com.thoughtworks.springbootemployee.model.Employee;
 import com.thoughtworks.springbootemployee.service.CompanyService;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 public class CompanyServiceTest {
     CompanyRepository mockedCompanyRepository = mock(CompanyRepository.class);
-    CompanyService companyService = new CompanyService(mockedCompanyRepository);
+    EmployeeRepository mockedEmployeeRepository = mock(EmployeeRepository.class);
+    CompanyService companyService = new CompanyService(mockedCompanyRepository, mockedEmployeeRepository,
+            mock(ApplicationEventPublisher.class));
 
     @Test
     void should_return_company_list_when_getAllCompanies() {
         //when
-        given(mockedCompanyRepository.findAll()).willReturn(getMockCompanyListData());
+        given(mockedCompanyRepository.findAllWithEmployees()).willReturn(getMockCompanyListData());
         List<CompanyResponse> actualCompanies = companyService.getAllCompanies();
         //then
         assertEquals(2, actualCompanies.size());
@@ -42,7 +55,7 @@ public class CompanyServiceTest {
     void should_return_company_when_get_company_by_id_given_company_id() {
         //given
         Company company = new Company(1, "alibaba", 100, null);
-        given(mockedCompanyRepository.findById(1)).willReturn(Optional.of(company));
+        given(mockedCompanyRepository.findWithEmployeesById(1)).willReturn(Optional.of(company));
         //when
         CompanyResponse actualCompany = companyService.getCompanyById(1);
         //then
@@ -52,7 +65,7 @@ public class CompanyServiceTest {
     @Test
     void should_throw_exception_when_get_company_by_id_given_company_id_inexistence() {
         //given
-        given(mockedCompanyRepository.findById(100)).willReturn(Optional.ofNullable(null));
+        given(mockedCompanyRepository.findWithEmployeesById(100)).willReturn(Optional.ofNullable(null));
         //when
         //then
         assertThrows(NoSuchDataException.class, () -> companyService.getCompanyById(100));
@@ -61,20 +74,35 @@ public class CompanyServiceTest {
     @Test
     void should_return_all_employee_of_company_when_get_all_employee_given_company_id() {
         //given
-        given(mockedCompanyRepository.findById(1)).willReturn(Optional.of(getMockCompanyData()));
+        given(mockedCompanyRepository.existsById(1)).willReturn(true);
+        given(mockedEmployeeRepository.findAllByCompanyId(1)).willReturn(getMockCompanyData().getEmployees());
         //when
         List<EmployeeResponse> actualEmployees = companyService.getAllEmployeeByCompanyId(1);
         //then
         assertEquals(getMockCompanyData().getEmployees().size(), actualEmployees.size());
+        verify(mockedCompanyRepository, never()).findWithEmployeesById(1);
+    }
+
+    @Test
+    void should_return_employee_page_of_company_when_get_page_employees_given_company_id_page_and_pageSize() {
+        //given
+        given(mockedCompanyRepository.existsById(1)).willReturn(true);
+        given(mockedEmployeeRepository.findAllByCompanyId(1, PageRequest.of(0, 2, Sort.by("id"))))
+                .willReturn(new PageImpl<>(getMockCompanyData().getEmployees()));
+        //when
+        List<EmployeeResponse> actualEmployees = companyService.getPageEmployeesByCompanyId(1, 1, 2).getContent();
+        //then
+        assertEquals(getMockCompanyData().getEmployees().size(), actualEmployees.size());
     }
 
     @Test
     void should_throw_exception_when_get_all_employee_given_company_id_inexistence() {
         //given
-        given(mockedCompanyRepository.findById(1)).willReturn(Optional.ofNullable(null));
+        given(mockedCompanyRepository.existsById(1)).willReturn(false);
         //when
         //then
         assertThrows(NoSuchDataException.class, () -> companyService.getAllEmployeeByCompanyId(1));
+        assertThrows(NoSuchDataException.class, () -> companyService.getEmployeesByCompanyIdAfter(1, null, 10));
     }
 
     @Test
@@ -87,6 +115,18 @@ public class CompanyServiceTest {
         assertEquals(getMockCompanyListData().size(), actualCompanies.size());
     }
 
+    @Test
+    void should_return_next_cursor_when_getCompaniesAfter_given_more_rows_than_limit() {
+        //given
+        given(mockedCompanyRepository.findAllByIdGreaterThanOrderByIdAsc(0, PageRequest.of(0, 2)))
+                .willReturn(getMockCompanyListData());
+        //when
+        CursorPage<CompanyResponse> actualPage = companyService.getCompaniesAfter(null, 1);
+        //then
+        assertEquals(1, actualPage.getContent().size());
+        assertEquals(1, Cursor.decode(actualPage.getNextCursor()));
+    }
+
     @Test
     void should_return_company_when_add_company_given_company() {
         //given
@@ -104,23 +144,37 @@ public class CompanyServiceTest {
         Company company = new Company(1, "alibaba", 200, null);
         CompanyRequest updateCompany = new CompanyRequest(1, "xiaomi", 100, null);
         Company updatedCompany = new Company(1, "xiaomi", 100, null);
-        given(mockedCompanyRepository.findById(1)).willReturn(Optional.of(company));
-        given(mockedCompanyRepository.save(isA(Company.class))).willReturn(updatedCompany);
+        given(mockedCompanyRepository.findWithEmployeesById(1)).willReturn(Optional.of(company));
+        given(mockedCompanyRepository.saveAndFlush(isA(Company.class))).willReturn(updatedCompany);
         //when
-        CompanyResponse actualCompany = companyService.updateCompany(1, updateCompany);
+        CompanyResponse actualCompany = companyService.updateCompany(1, updateCompany, null);
         //then
-        verify(mockedCompanyRepository).save(isA(Company.class));
+        verify(mockedCompanyRepository).saveAndFlush(isA(Company.class));
         assertEquals(updateCompany.getCompanyName(), actualCompany.getCompanyName());
     }
 
+    @Test
+    void should_throw_precondition_failed_exception_when_update_company_given_concurrent_update_after_if_match() {
+        //given
+        Company company = new Company(1, "alibaba", 200, new ArrayList<>());
+        CompanyRequest updateCompany = new CompanyRequest(1, "xiaomi", 100, null);
+        given(mockedCompanyRepository.findWithEmployeesById(1)).willReturn(Optional.of(company));
+        given(mockedCompanyRepository.saveAndFlush(isA(Company.class)))
+                .willThrow(new ObjectOptimisticLockingFailureException(Company.class, 1));
+        String eTag = CompanyMapper.toETag(CompanyMapper.toCompanyResponse(company));
+        //when
+        //then
+        assertThrows(PreconditionFailedException.class, () -> companyService.updateCompany(1, updateCompany, eTag));
+    }
+
     @Test
     void should_throw_no_such_data_exception_when_update_company_given_company_Id_and_company() {
         //given
         CompanyRequest updateCompany = new CompanyRequest(1, "xiaomi", 100, null);
-        given(mockedCompanyRepository.findById(1)).willReturn(Optional.ofNullable(null));
+        given(mockedCompanyRepository.findWithEmployeesById(1)).willReturn(Optional.empty());
         //when
         //then
-        assertThrows(NoSuchDataException.class, () -> companyService.updateCompany(1, updateCompany));
+        assertThrows(NoSuchDataException.class, () -> companyService.updateCompany(1, updateCompany, null));
     }
 
     @Test
@@ -129,16 +183,21 @@ public class CompanyServiceTest {
         Company company = new Company(1, "alibaba", 200, null);
         CompanyRequest updateCompany = new CompanyRequest(2, "xiaomi", 100, null);
         //when
-        assertThrows(IllegalOperationException.class, () -> companyService.updateCompany(1, updateCompany));
+        assertThrows(IllegalOperationException.class, () -> companyService.updateCompany(1, updateCompany, null));
     }
 
     @Test
     void should_delete_all_employees_belong_to_company_when_delete_employees_of_company_by_id_given_company_id() {
         //given
+        given(mockedEmployeeRepository.removeByCompanyId(1)).willReturn(Arrays.asList(3, 4));
+        given(mockedCompanyRepository.removeById(1)).willReturn(1);
         //when
-        companyService.deleteCompanyById(1);
+        int removedEmployees = companyService.deleteCompanyById(1);
         //then
-        verify(mockedCompanyRepository).deleteById(eq(1));
+        assertEquals(2, removedEmployees);
+        verify(mockedEmployeeRepository).removeByCompanyId(eq(1));
+        verify(mockedCompanyRepository).removeById(eq(1));
+        verify(mockedCompanyRepository, never()).findById(anyInt());
     }
 
     private List<Company> getMockCompanyListData() {
@@ -0,0 +1,57 @@
+package com.thoughtworks.springbootemployee;
+
+import com.thoughtworks.springbootemployee.dao.CompanyRepository;
+import com.thoughtworks.springbootemployee.dao.CompanySummaryRepository;
+import com.thoughtworks.springbootemployee.model.CompanySummary;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.service.CompanySummaryService;
+import com.thoughtworks.springbootemployee.service.EmployeeChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class CompanySummaryServiceTest {
+    CompanySummaryRepository mockedCompanySummaryRepository = mock(CompanySummaryRepository.class);
+    CompanyRepository mockedCompanyRepository = mock(CompanyRepository.class);
+    CompanySummaryService companySummaryService = new CompanySummaryService(mockedCompanySummaryRepository, mockedCompanyRepository);
+
+    @Test
+    void should_mark_only_changed_company_stale_when_bulk_change_given_company_id() {
+        //given
+        given(mockedCompanySummaryRepository.findById(anyInt()))
+                .willAnswer(invocation -> Optional.of(new CompanySummary(invocation.getArgument(0), 1, 3000.0, 18, 18)));
+        //when
+        companySummaryService.onEmployeeChanged(EmployeeChangedEvent.bulk(Collections.singletonList(1)));
+        //then
+        assertTrue(companySummaryService.getCompanySummary(1).isStale());
+        assertFalse(companySummaryService.getCompanySummary(2).isStale());
+    }
+
+    @Test
+    void should_flush_event_received_during_reconcile_once_when_flush_after_reconcile() {
+        //given
+        companySummaryService.onEmployeeChanged(EmployeeChangedEvent.added(new Employee(1, "xiaoyi", 20, "Male", 1000.0, 1)));
+        willAnswer(invocation -> {
+            companySummaryService.onEmployeeChanged(EmployeeChangedEvent.added(new Employee(2, "xiaoer", 20, "Male", 2000.0, 1)));
+            return 1;
+        }).given(mockedCompanySummaryRepository).reconcile();
+        given(mockedCompanySummaryRepository.applyDelta(anyInt(), anyLong(), anyDouble(), eq(20), eq(20))).willReturn(1);
+        //when
+        companySummaryService.reconcile();
+        companySummaryService.flush();
+        //then
+        verify(mockedCompanySummaryRepository).applyDelta(1, 1L, 2000.0, 20, 20);
+    }
+}
@@ -0,0 +1,71 @@
+package com.thoughtworks.springbootemployee;
+
+import com.thoughtworks.springbootemployee.dto.EmployeeStatsResponse;
+import com.thoughtworks.springbootemployee.service.EmployeeColumnStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class EmployeeColumnStoreTest {
+
+    private static Map<String, Object> row(double salary, int age, String gender, Integer companyId) {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("salary", salary);
+        fields.put("age", age);
+        fields.put("gender", gender);
+        fields.put("companyId", companyId);
+        return fields;
+    }
+
+    @Test
+    void should_return_count_sum_percentiles_and_histogram_per_group_when_stats_given_group_by_gender() {
+        //given
+        EmployeeColumnStore columnStore = new EmployeeColumnStore(0);
+        for (int id = 1; id <= 100; id++) {
+            columnStore.upsert(id, row(id * 100.0, 20 + id % 10, id % 2 == 0 ? "Female" : "Male", id % 3));
+        }
+        //when
+        List<EmployeeStatsResponse> stats = columnStore.stats(true, false, new double[]{50, 99.5}, 4);
+        //then
+        assertEquals(2, stats.size());
+        EmployeeStatsResponse female = stats.get(0);
+        assertEquals("Female", female.getGender());
+        assertNull(female.getCompanyId());
+        assertEquals(50, female.getCount());
+        assertEquals(255000.0, female.getSalary().getSum(), 1e-6);
+        assertEquals(200.0, female.getSalary().getMin(), 1e-6);
+        assertEquals(10000.0, female.getSalary().getMax(), 1e-6);
+        assertEquals(5100.0, female.getSalary().getPercentiles().get("p50"), 1e-6);
+        assertEquals(9951.0, female.getSalary().getPercentiles().get("p99.5"), 1e-6);
+        assertEquals(4, female.getSalary().getHistogram().size());
+        assertEquals(50, female.getSalary().getHistogram().stream().mapToInt(bin -> bin.getCount()).sum());
+    }
+
+    @Test
+    void should_apply_patches_and_removals_when_stats_given_changed_rows() {
+        //given
+        EmployeeColumnStore columnStore = new EmployeeColumnStore(0);
+        columnStore.upsert(1, row(1000.0, 20, "Male", 1));
+        columnStore.upsert(2, row(2000.0, 30, "Male", 1));
+        columnStore.upsert(3, row(3000.0, 40, "Male", 2));
+        Map<String, Object> patch = new HashMap<>();
+        patch.put("companyId", 2);
+        //when
+        columnStore.upsert(2, patch);
+        columnStore.remove(1);
+        boolean unknownApplied = columnStore.upsert(4, patch);
+        //then
+        assertFalse(unknownApplied);
+        List<EmployeeStatsResponse> stats = columnStore.stats(false, true, new double[]{50}, 1);
+        assertEquals(1, stats.size());
+        assertEquals(2, stats.get(0).getCompanyId().intValue());
+        assertEquals(2, stats.get(0).getCount());
+        assertEquals(35.0, stats.get(0).getAge().getMean(), 1e-6);
+    }
+}
@@ -1,23 +1,36 @@
 package com.thoughtworks.springbootemployee;
 
 import com.alibaba.fastjson.JSON;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.thoughtworks.springbootemployee.common.ResponseCache;
 import com.thoughtworks.springbootemployee.dao.CompanyRepository;
 import com.thoughtworks.springbootemployee.dao.EmployeeRepository;
 import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.service.EmployeeStatsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -33,10 +46,21 @@ public class EmployeeIntegrationTest {
     @Autowired
     private CompanyRepository companyRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private EmployeeStatsService employeeStatsService;
+
     @BeforeEach
     void tearDown() {
         employeeRepository.deleteAll();
         companyRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        responseCache.invalidateAll();
     }
 
     @Test
@@ -52,6 +76,91 @@ public class EmployeeIntegrationTest {
         //then
     }
 
+    @Test
+    void should_return_cbor_when_getAllEmployees_given_accept_cbor() throws Exception {
+        //given
+        List<Employee> employees = employeeRepository.saveAll(getMockEmployees());
+        //when
+        byte[] body = mockMvc.perform(get("/employees").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+        //then
+        JsonNode result = new ObjectMapper(new CBORFactory()).readTree(body);
+        assertEquals(10, result.get("data").size());
+        assertEquals(employees.get(0).getId(), result.get("data").get(0).get("id").intValue());
+    }
+
+    @Test
+    void should_return_cbor_varying_on_accept_when_get_employees_by_gender_given_accept_cbor() throws Exception {
+        //given
+        employeeRepository.saveAll(getMockEmployees());
+        mockMvc.perform(get("/employees").param("gender", "Male")).andExpect(status().isOk());
+        //when
+        byte[] body = mockMvc.perform(get("/employees").param("gender", "Male").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn().getResponse().getContentAsByteArray();
+        //then
+        JsonNode result = new ObjectMapper(new CBORFactory()).readTree(body);
+        assertEquals("Male", result.get("data").get(0).get("gender").textValue());
+    }
+
+    @Test
+    void should_return_only_requested_fields_when_getAllEmployees_given_fields() throws Exception {
+        //given
+        List<Employee> employees = employeeRepository.saveAll(getMockEmployees());
+        //when
+        mockMvc.perform(get("/employees").param("fields", "id,name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(10))
+                .andExpect(jsonPath("$.data[0].id").value(employees.get(0).getId()))
+                .andExpect(jsonPath("$.data[0].name").value(employees.get(0).getName()))
+                .andExpect(jsonPath("$.data[0].age").doesNotExist())
+                .andExpect(jsonPath("$.data[0].salary").doesNotExist());
+        //then
+    }
+
+    @Test
+    void should_return_illegal_argument_when_getAllEmployees_given_unknown_field() throws Exception {
+        //given
+        //when
+        mockMvc.perform(get("/employees").param("fields", "id,password"))
+                .andExpect(status().isNotExtended());
+        //then
+    }
+
+    @Test
+    void should_reject_request_when_getAllEmployees_given_fields_and_gender() throws Exception {
+        //given
+        employeeRepository.saveAll(getMockEmployees());
+        //when
+        mockMvc.perform(get("/employees").param("gender", "Male").param("fields", "id"))
+                .andExpect(status().isNotExtended());
+        //then
+    }
+
+    @Test
+    void should_reject_request_when_getAllEmployees_given_fields_and_page() throws Exception {
+        //given
+        employeeRepository.saveAll(getMockEmployees());
+        //when
+        mockMvc.perform(get("/employees").param("page", "1").param("pageSize", "2").param("fields", "id"))
+                .andExpect(status().isNotExtended());
+        //then
+    }
+
+    @Test
+    void should_reject_request_when_getAllEmployees_given_fields_and_ids() throws Exception {
+        //given
+        List<Employee> employees = employeeRepository.saveAll(getMockEmployees());
+        //when
+        mockMvc.perform(get("/employees").param("ids", String.valueOf(employees.get(0).getId())).param("fields", "id"))
+                .andExpect(status().isNotExtended());
+        //then
+    }
+
     @Test
     void should_return_employees_when_get_employees_by_id_given_employee_id() throws Exception {
         //given
@@ -66,6 +175,41 @@ public class EmployeeIntegrationTest {
         //then
     }
 
+    @Test
+    void should_return_employees_in_request_order_when_get_employees_given_ids() throws Exception {
+        //given
+        List<Employee> employees = employeeRepository.saveAll(getMockEmployees());
+        //when
+        mockMvc.perform(get("/employees").param("ids", employees.get(3).getId() + "," + Integer.MAX_VALUE
+                + "," + employees.get(1).getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].id").value(employees.get(3).getId()))
+                .andExpect(jsonPath("$.data[1].id").value(employees.get(1).getId()));
+        //then
+    }
+
+    @Test
+    void should_reject_request_when_get_employees_given_ids_and_gender() throws Exception {
+        //given
+        List<Employee> employees = employeeRepository.saveAll(getMockEmployees());
+        //when
+        mockMvc.perform(get("/employees").param("ids", String.valueOf(employees.get(0).getId())).param("gender", "Male"))
+                .andExpect(status().isNotExtended());
+        //then
+    }
+
+    @Test
+    void should_reject_request_when_get_employees_given_ids_and_page() throws Exception {
+        //given
+        List<Employee> employees = employeeRepository.saveAll(getMockEmployees());
+        //when
+        mockMvc.perform(get("/employees").param("ids", String.valueOf(employees.get(0).getId()))
+                .param("page", "1").param("pageSize", "2"))
+                .andExpect(status().isNotExtended());
+        //then
+    }
+
     @Test
     void should_return_employees_list_when_get_all_employees_after_Pagination_given_page_and_pageSize() throws Exception {
         //given
@@ -78,6 +222,148 @@ public class EmployeeIntegrationTest {
                 .andExpect(jsonPath("$.data.numberOfElements").value(5));
     }
 
+    @Test
+    void should_return_employees_after_cursor_when_get_employees_given_limit() throws Exception {
+        //given
+        List<Employee> employees = employeeRepository.saveAll(getMockEmployees());
+        //when
+        String body = mockMvc.perform(get("/employees").param("limit", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content.length()").value(4))
+                .andExpect(jsonPath("$.data.content[0].id").value(employees.get(0).getId()))
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = JSON.parseObject(body).getJSONObject("data").getString("nextCursor");
+        //then
+        mockMvc.perform(get("/employees").param("limit", "4").param("after", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content.length()").value(4))
+                .andExpect(jsonPath("$.data.content[0].id").value(employees.get(4).getId()));
+    }
+
+    @Test
+    void should_return_matching_employees_in_sort_order_when_search_employees_given_filters_sort_and_cursor() throws Exception {
+        //given
+        List<Employee> employees = employeeRepository.saveAll(getMockEmployees());
+        //when
+        String body = mockMvc.perform(get("/employees/search").param("gender", "Male")
+                .param("minAge", "18").param("maxAge", "19")
+                .param("sort", "age").param("direction", "desc").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content.length()").value(3))
+                .andExpect(jsonPath("$.data.content[0].id").value(employees.get(3).getId()))
+                .andExpect(jsonPath("$.data.content[1].id").value(employees.get(2).getId()))
+                .andExpect(jsonPath("$.data.content[2].id").value(employees.get(9).getId()))
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = JSON.parseObject(body).getJSONObject("data").getString("nextCursor");
+        //then
+        mockMvc.perform(get("/employees/search").param("gender", "Male")
+                .param("minAge", "18").param("maxAge", "19")
+                .param("sort", "age").param("direction", "desc").param("limit", "3").param("after", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content.length()").value(3))
+                .andExpect(jsonPath("$.data.content[0].id").value(employees.get(8).getId()))
+                .andExpect(jsonPath("$.data.content[2].id").value(employees.get(0).getId()))
+                .andExpect(jsonPath("$.data.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void should_return_employees_by_name_when_search_employees_given_name_prefix() throws Exception {
+        //given
+        employeeRepository.saveAll(getMockEmployees());
+        //when
+        //then
+        mockMvc.perform(get("/employees/search").param("namePrefix", "xiaos").param("sort", "name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content.length()").value(3))
+                .andExpect(jsonPath("$.data.content[0].name").value("xiaosan"))
+                .andExpect(jsonPath("$.data.content[1].name").value("xiaoshi"))
+                .andExpect(jsonPath("$.data.content[2].name").value("xiaosi"));
+    }
+
+    @Test
+    void should_follow_add_rename_and_delete_when_typeahead_employee_names() throws Exception {
+        //given
+        String body = mockMvc.perform(post("/employees").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\":0,\"name\":\"Typeahead Zhang\",\"age\":20,\"gender\":\"Male\",\"salary\":1000.0}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        int employeeId = JSON.parseObject(body).getJSONObject("data").getIntValue("id");
+        //when
+        mockMvc.perform(get("/employees/typeahead").param("q", "typeahead z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].id").value(employeeId))
+                .andExpect(jsonPath("$.data[0].name").value("Typeahead Zhang"));
+        mockMvc.perform(patch("/employees/" + employeeId).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Typeahead Li\"}"))
+                .andExpect(status().isOk());
+        //then
+        mockMvc.perform(get("/employees/typeahead").param("q", "ahead Zh"))
+                .andExpect(jsonPath("$.data.length()").value(0));
+        mockMvc.perform(get("/employees/typeahead").param("q", "ahead Li"))
+                .andExpect(jsonPath("$.data[0].id").value(employeeId));
+        mockMvc.perform(delete("/employees/" + employeeId));
+        mockMvc.perform(get("/employees/typeahead").param("q", "typeahead"))
+                .andExpect(jsonPath("$.data.length()").value(0));
+    }
+
+    @Test
+    void should_return_stats_per_gender_when_get_employee_stats_given_group_by_gender() throws Exception {
+        //given
+        employeeRepository.saveAll(getMockEmployees());
+        employeeStatsService.reload();
+        //when
+        //then
+        mockMvc.perform(get("/employees/stats").param("groupBy", "gender").param("percentiles", "50").param("bins", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].gender").value("Female"))
+                .andExpect(jsonPath("$.data[0].count").value(3))
+                .andExpect(jsonPath("$.data[0].age.min").value(20.0))
+                .andExpect(jsonPath("$.data[0].age.percentiles.p50").value(21.0))
+                .andExpect(jsonPath("$.data[0].salary.sum").value(90000.0))
+                .andExpect(jsonPath("$.data[1].gender").value("Male"))
+                .andExpect(jsonPath("$.data[1].count").value(7))
+                .andExpect(jsonPath("$.data[1].age.histogram.length()").value(2));
+    }
+
+    @Test
+    void should_return_400_when_get_employee_stats_given_unknown_group() throws Exception {
+        mockMvc.perform(get("/employees/stats").param("groupBy", "name"))
+                .andExpect(status().isNotExtended());
+    }
+
+    @Test
+    void should_return_employee_slice_when_get_employees_given_page_pageSize_and_slice() throws Exception {
+        //given
+        employeeRepository.saveAll(getMockEmployees());
+        //when
+        mockMvc.perform(get("/employees")
+                .param("page", "1")
+                .param("pageSize", "5")
+                .param("slice", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.numberOfElements").value(5))
+                .andExpect(jsonPath("$.data.totalElements").doesNotExist());
+    }
+
+    @Test
+    void should_stream_one_json_line_per_employee_when_export_employees() throws Exception {
+        //given
+        List<Employee> employees = employeeRepository.saveAll(getMockEmployees());
+        //when
+        MvcResult result = mockMvc.perform(get("/employees/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"));
+        //then
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(employees.size(), lines.length);
+        assertEquals(employees.get(0).getName(), JSON.parseObject(lines[0]).getString("name"));
+    }
+
     @Test
     void should_return_employee_when_add_employee_given_employee_request() throws Exception {
         //given
@@ -88,11 +374,69 @@ public class EmployeeIntegrationTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(json))
                 .andExpect(status().isCreated())
-                .andExpect(jsonPath("$.data.id").value(employee.getId()))
+                .andExpect(jsonPath("$.data.id").value(not(employee.getId())))
                 .andExpect(jsonPath("$.data.name").value(employee.getName()))
                 .andExpect(jsonPath("$.data.age").value(employee.getAge()))
                 .andExpect(jsonPath("$.data.gender").value(employee.getGender()));
         //then
+        assertEquals(2, employeeRepository.count());
+    }
+
+    @Test
+    void should_return_result_per_item_when_add_employees_in_batch_given_json_array() throws Exception {
+        //given
+        String json = "[{\"name\":\"Lin\",\"age\":18,\"gender\":\"male\",\"salary\":3000.0},"
+                + "{\"age\":19,\"gender\":\"male\",\"salary\":3000.0},"
+                + "{\"name\":\"Ming\",\"age\":20,\"gender\":\"female\",\"salary\":4000.0}]";
+        //when
+        mockMvc.perform(post("/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.length()").value(3))
+                .andExpect(jsonPath("$.data[0].code").value("200"))
+                .andExpect(jsonPath("$.data[1].code").value("400"))
+                .andExpect(jsonPath("$.data[1].id").doesNotExist())
+                .andExpect(jsonPath("$.data[2].index").value(2));
+        //then
+        assertEquals(2, employeeRepository.count());
+    }
+
+    @Test
+    void should_keep_other_items_when_add_employees_in_batch_given_item_violating_constraint() throws Exception {
+        //given
+        String json = "[{\"name\":\"Lin\",\"age\":18,\"gender\":\"male\",\"salary\":3000.0},"
+                + "{\"name\":\"Hong\",\"age\":19,\"gender\":\"male\",\"salary\":3000.0,\"companyId\":" + Integer.MAX_VALUE + "},"
+                + "{\"name\":\"Ming\",\"age\":20,\"gender\":\"female\",\"salary\":4000.0}]";
+        //when
+        mockMvc.perform(post("/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.length()").value(3))
+                .andExpect(jsonPath("$.data[0].code").value("200"))
+                .andExpect(jsonPath("$.data[1].code").value("500"))
+                .andExpect(jsonPath("$.data[1].id").doesNotExist())
+                .andExpect(jsonPath("$.data[2].code").value("200"));
+        //then
+        assertEquals(2, employeeRepository.count());
+    }
+
+    @Test
+    void should_insert_every_line_when_add_employees_in_batch_given_ndjson() throws Exception {
+        //given
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 120; i++) {
+            ndjson.append("{\"name\":\"employee").append(i).append("\",\"age\":20,\"gender\":\"male\",\"salary\":3000.0}\n");
+        }
+        //when
+        mockMvc.perform(post("/employees/batch")
+                .contentType("application/x-ndjson")
+                .content(ndjson.toString()))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.length()").value(120));
+        //then
+        assertEquals(120, employeeRepository.count());
     }
 
     @Test
@@ -111,6 +455,103 @@ public class EmployeeIntegrationTest {
         //then
     }
 
+    @Test
+    void should_not_return_stale_employee_when_get_employee_by_id_after_update_and_delete() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(new Employee(1, "Lin", 18, "male", 3000.0, null));
+        mockMvc.perform(get("/employees/" + employee.getId()))
+                .andExpect(jsonPath("$.data.name").value("Lin"));
+        String json = JSON.toJSONString(new Employee(employee.getId(), "Ming", 20, "female", 4000.0, null));
+        //when
+        mockMvc.perform(put("/employees/" + employee.getId()).contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(status().isOk());
+        //then
+        mockMvc.perform(get("/employees/" + employee.getId()))
+                .andExpect(jsonPath("$.data.name").value("Ming"))
+                .andExpect(jsonPath("$.data.salary").value(4000.0));
+        mockMvc.perform(delete("/employees/" + employee.getId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/employees/" + employee.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void should_update_only_salary_when_patch_employee_given_salary() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(new Employee(0, "Lin", 18, "male", 3000.0, null));
+        mockMvc.perform(get("/employees/" + employee.getId()))
+                .andExpect(jsonPath("$.data.salary").value(3000.0));
+        //when
+        mockMvc.perform(patch("/employees/" + employee.getId()).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"salary\":5000.0}"))
+                .andExpect(status().isOk());
+        //then
+        mockMvc.perform(get("/employees/" + employee.getId()))
+                .andExpect(jsonPath("$.data.name").value("Lin"))
+                .andExpect(jsonPath("$.data.age").value(18))
+                .andExpect(jsonPath("$.data.salary").value(5000.0));
+    }
+
+    @Test
+    void should_return_404_when_patch_employee_given_employee_id_inexistence() throws Exception {
+        //when
+        mockMvc.perform(patch("/employees/" + Integer.MAX_VALUE).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Ming\",\"age\":20}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void should_return_304_when_get_employee_by_id_given_if_none_match_of_current_etag() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(new Employee(0, "Lin", 18, "male", 3000.0, null));
+        String eTag = mockMvc.perform(get("/employees/" + employee.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        //when
+        mockMvc.perform(get("/employees/" + employee.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(patch("/employees/" + employee.getId()).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"salary\":5000.0}"))
+                .andExpect(status().isOk());
+        //then
+        mockMvc.perform(get("/employees/" + employee.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.salary").value(5000.0));
+    }
+
+    @Test
+    void should_return_412_when_update_employee_given_stale_if_match() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(new Employee(0, "Lin", 18, "male", 3000.0, null));
+        String eTag = mockMvc.perform(get("/employees/" + employee.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String json = JSON.toJSONString(new Employee(employee.getId(), "Ming", 20, "female", 4000.0, null));
+        mockMvc.perform(put("/employees/" + employee.getId()).header(HttpHeaders.IF_MATCH, eTag)
+                .contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(status().isOk());
+        //when
+        mockMvc.perform(put("/employees/" + employee.getId()).header(HttpHeaders.IF_MATCH, eTag)
+                .contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(status().isPreconditionFailed());
+        //then
+    }
+
+    @Test
+    void should_return_deleted_count_when_delete_employees_given_ids() throws Exception {
+        //given
+        List<Employee> employees = employeeRepository.saveAll(getMockEmployees());
+        //when
+        mockMvc.perform(delete("/employees").param("ids", employees.get(0).getId() + "," + employees.get(1).getId()
+                + "," + Integer.MAX_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").value(2));
+        //then
+        assertEquals(employees.size() - 2, employeeRepository.count());
+        mockMvc.perform(delete("/employees/" + employees.get(0).getId()))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void should_when_delete_employee_by_id_given_employee_id() throws Exception {
         //given
@@ -137,6 +578,24 @@ public class EmployeeIntegrationTest {
         //then
     }
 
+    @Test
+    void should_report_latency_percentiles_when_get_latency_endpoint_after_requests() throws Exception {
+        //given
+        List<Employee> employees = employeeRepository.saveAll(getMockEmployees());
+        mockMvc.perform(get("/employees/" + employees.get(0).getId())).andExpect(status().isOk());
+        //when
+        //then
+        mockMvc.perform(get("/actuator/latency/service.method"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.tags.method == 'getEmployeeById')].p99").isNotEmpty());
+        mockMvc.perform(get("/actuator/latency/http.server.requests"))
+                .andExpect(jsonPath("$[?(@.tags.uri == '/employees/{employeeId}')].p50").isNotEmpty());
+        mockMvc.perform(get("/actuator/latency/http.server.serialization"))
+                .andExpect(jsonPath("$[?(@.tags.uri == '/employees/{employeeId}')].count").isNotEmpty());
+        mockMvc.perform(get("/actuator/metrics/hibernate.statements"))
+                .andExpect(status().isOk());
+    }
+
     private List<Employee> getMockEmployees() {
         List<Employee> employees = new ArrayList<>();
         employees.add(new Employee(1, "xiaoyi", 18, "Male", 30000.0, null));
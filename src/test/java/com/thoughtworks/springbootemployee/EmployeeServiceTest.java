@@ -1,31 +1,51 @@
 package com.thoughtworks.springbootemployee;
 
+import com.thoughtworks.springbootemployee.common.Cursor;
 import com.thoughtworks.springbootemployee.dao.EmployeeRepository;
+import com.thoughtworks.springbootemployee.dao.PatchedEmployee;
+import com.thoughtworks.springbootemployee.dao.RemovedEmployee;
+import com.thoughtworks.springbootemployee.dto.CursorPage;
+import com.thoughtworks.springbootemployee.dto.EmployeePatchRequest;
 import com.thoughtworks.springbootemployee.dto.EmployeeRequest;
 import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.exception.NoSuchDataException;
+import com.thoughtworks.springbootemployee.exception.PreconditionFailedException;
 import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.service.EmployeeChangedEvent;
 import com.thoughtworks.springbootemployee.service.EmployeeService;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 
 public class EmployeeServiceTest {
     EmployeeRepository mockedEmployeeRepository = mock(EmployeeRepository.class);
-    EmployeeService employeeService = new EmployeeService(mockedEmployeeRepository);
+    ApplicationEventPublisher mockedEventPublisher = mock(ApplicationEventPublisher.class);
+    EmployeeService employeeService = new EmployeeService(mockedEmployeeRepository, mock(PlatformTransactionManager.class),
+            mockedEventPublisher);
 
     @Test
     void should_return_employees_list_when_getAllEmployees() {
         //when
-        given(mockedEmployeeRepository.findAll()).willReturn(getMockEmployeeListData());
+        given(mockedEmployeeRepository.findAll(Sort.by("id"))).willReturn(getMockEmployeeListData());
         List<EmployeeResponse> actualEmployees = employeeService.getAllEmployees();
         //then
         assertEquals(3, actualEmployees.size());
@@ -55,6 +75,48 @@ public class EmployeeServiceTest {
         assertEquals(new PageImpl<Employee>(employees), actualEmployees);
     }
 
+    @Test
+    void should_return_employee_slice_when_getSliceEmployees_given_page_and_pageSize() {
+        //given
+        given(mockedEmployeeRepository.findAllBy(PageRequest.of(0, 2)))
+                .willReturn(new SliceImpl<>(getMockEmployeeListData().subList(0, 2), PageRequest.of(0, 2), true));
+        //when
+        List<EmployeeResponse> actualEmployees = employeeService.getSliceEmployees(0, 2).getContent();
+        //then
+        assertEquals(2, actualEmployees.size());
+        verify(mockedEmployeeRepository, never()).count();
+    }
+
+    @Test
+    void should_return_next_cursor_when_getEmployeesAfter_given_more_rows_than_limit() {
+        //given
+        given(mockedEmployeeRepository.findAllByIdGreaterThanOrderByIdAsc(0, PageRequest.of(0, 3)))
+                .willReturn(getMockEmployeeListData());
+        //when
+        CursorPage<EmployeeResponse> actualPage = employeeService.getEmployeesAfter(null, 2);
+        //then
+        assertEquals(2, actualPage.getContent().size());
+        assertEquals(2, Cursor.decode(actualPage.getNextCursor()));
+    }
+
+    @Test
+    void should_return_no_cursor_when_getEmployeesAfter_given_last_page() {
+        //given
+        given(mockedEmployeeRepository.findAllByIdGreaterThanOrderByIdAsc(2, PageRequest.of(0, 3)))
+                .willReturn(getMockEmployeeListData().subList(2, 3));
+        //when
+        CursorPage<EmployeeResponse> actualPage = employeeService.getEmployeesAfter(Cursor.encode(2), 2);
+        //then
+        assertEquals(1, actualPage.getContent().size());
+        assertNull(actualPage.getNextCursor());
+    }
+
+    @Test
+    void should_throw_illegal_argument_exception_when_getEmployeesAfter_given_invalid_cursor() {
+        assertThrows(IllegalArgumentException.class, () -> employeeService.getEmployeesAfter("%%", 2));
+        assertThrows(IllegalArgumentException.class, () -> employeeService.getEmployeesAfter(null, 0));
+    }
+
     @Test
     void should_return_all_male_employees_when_getAllEmployees_given_gender_is_male() {
         //given
@@ -84,21 +146,92 @@ public class EmployeeServiceTest {
         Employee updateEmployee = new Employee(1, "mandy", 19, "female", 66666);
         EmployeeRequest employeeRequest = new EmployeeRequest(1, "mandy", 19, "female", 66666);
         given(mockedEmployeeRepository.findById(eq(1))).willReturn(Optional.of(employee));
-        given(mockedEmployeeRepository.save(isA(Employee.class))).willReturn(updateEmployee);
+        given(mockedEmployeeRepository.saveAndFlush(isA(Employee.class))).willReturn(updateEmployee);
         //when
-        EmployeeResponse actualEmployee = employeeService.updateEmployee(1, employeeRequest);
+        EmployeeResponse actualEmployee = employeeService.updateEmployee(1, employeeRequest, null);
         //the
         assertEquals(updateEmployee.getAge(), actualEmployee.getAge());
     }
 
+    @Test
+    void should_throw_precondition_failed_exception_when_update_employee_given_concurrent_update_after_if_match() {
+        //given
+        Employee employee = new Employee(1, "mandy", 18, "female", 66666);
+        employee.setVersion(3);
+        EmployeeRequest employeeRequest = new EmployeeRequest(1, "mandy", 19, "female", 66666);
+        given(mockedEmployeeRepository.findById(eq(1))).willReturn(Optional.of(employee));
+        given(mockedEmployeeRepository.saveAndFlush(isA(Employee.class)))
+                .willThrow(new ObjectOptimisticLockingFailureException(Employee.class, 1));
+        //when
+        //then
+        assertThrows(PreconditionFailedException.class, () -> employeeService.updateEmployee(1, employeeRequest, "\"3\""));
+    }
+
     @Test
     void should_return_nothing_when_delete_employee_given_employeeId() {
         //given
-        given(mockedEmployeeRepository.findById(1)).willReturn(Optional.of(getMockEmployeeData()));
+        given(mockedEmployeeRepository.removeByIdIn(Collections.singletonList(1)))
+                .willReturn(Collections.singletonList(mock(RemovedEmployee.class)));
         //when
         employeeService.deleteEmployeeById(1);
         //then
-        verify(mockedEmployeeRepository).deleteById(1);
+        verify(mockedEmployeeRepository).removeByIdIn(Collections.singletonList(1));
+        verify(mockedEmployeeRepository, never()).findById(anyInt());
+        assertThrows(NoSuchDataException.class, () -> employeeService.deleteEmployeeById(2));
+    }
+
+    @Test
+    void should_update_salary_in_one_statement_when_patch_employee_given_salary_only() {
+        //given
+        PatchedEmployee before = mock(PatchedEmployee.class);
+        given(before.getCompanyId()).willReturn(2);
+        given(before.getAge()).willReturn(18);
+        given(before.getSalary()).willReturn(3000.0);
+        given(mockedEmployeeRepository.updateSalaryById(1, 5000.0)).willReturn(Optional.of(before));
+        //when
+        employeeService.patchEmployee(1, new EmployeePatchRequest(null, null, null, 5000.0, null));
+        //then
+        verify(mockedEmployeeRepository).updateSalaryById(1, 5000.0);
+        verifyNoMoreInteractions(mockedEmployeeRepository);
+        EmployeeChangedEvent event = publishedEmployeeChangedEvent();
+        assertEquals(3000.0, event.getBefore().getSalary());
+        assertEquals(5000.0, event.getAfter().getSalary());
+        assertEquals(Integer.valueOf(2), event.getAfter().getCompanyId());
+        given(mockedEmployeeRepository.updateSalaryById(2, 5000.0)).willReturn(Optional.empty());
+        assertThrows(NoSuchDataException.class,
+                () -> employeeService.patchEmployee(2, new EmployeePatchRequest(null, null, null, 5000.0, null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> employeeService.patchEmployee(1, new EmployeePatchRequest()));
+    }
+
+    @Test
+    void should_publish_summary_delta_from_previous_row_when_patch_employee_given_company_id() {
+        //given
+        PatchedEmployee before = mock(PatchedEmployee.class);
+        given(before.getCompanyId()).willReturn(2);
+        given(before.getAge()).willReturn(18);
+        given(before.getSalary()).willReturn(3000.0);
+        given(mockedEmployeeRepository.updateReturningPreviousById(eq(1), anyMap())).willReturn(Optional.of(before));
+        //when
+        employeeService.patchEmployee(1, new EmployeePatchRequest("xiaoyi", null, null, null, 3));
+        //then
+        verify(mockedEmployeeRepository).updateReturningPreviousById(eq(1), anyMap());
+        verifyNoMoreInteractions(mockedEmployeeRepository);
+        EmployeeChangedEvent event = publishedEmployeeChangedEvent();
+        assertEquals(Integer.valueOf(2), event.getBefore().getCompanyId());
+        assertEquals(Integer.valueOf(3), event.getAfter().getCompanyId());
+        assertEquals(3000.0, event.getAfter().getSalary());
+    }
+
+    private EmployeeChangedEvent publishedEmployeeChangedEvent() {
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(mockedEventPublisher, atLeastOnce()).publishEvent(events.capture());
+        List<EmployeeChangedEvent> employeeChangedEvents = events.getAllValues().stream()
+                .filter(EmployeeChangedEvent.class::isInstance)
+                .map(EmployeeChangedEvent.class::cast)
+                .collect(Collectors.toList());
+        assertEquals(1, employeeChangedEvents.size());
+        return employeeChangedEvents.get(0);
     }
 
     private List<Employee> getMockEmployeeListData() {
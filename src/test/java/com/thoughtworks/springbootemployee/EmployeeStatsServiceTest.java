@@ -0,0 +1,41 @@
+package com.thoughtworks.springbootemployee;
+
+import com.thoughtworks.springbootemployee.dao.EmployeeRepository;
+import com.thoughtworks.springbootemployee.dto.EmployeeStatsResponse;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.service.EmployeeRowChangedEvent;
+import com.thoughtworks.springbootemployee.service.EmployeeStatsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class EmployeeStatsServiceTest {
+    EmployeeRepository mockedEmployeeRepository = mock(EmployeeRepository.class);
+    EmployeeStatsService employeeStatsService = new EmployeeStatsService(mockedEmployeeRepository, mock(PlatformTransactionManager.class));
+
+    @Test
+    void should_keep_changes_made_during_reload_when_reload_given_row_events_while_streaming() {
+        //given
+        given(mockedEmployeeRepository.count()).willReturn(2L);
+        given(mockedEmployeeRepository.streamAllBy()).willAnswer(invocation -> {
+            employeeStatsService.onEmployeeRowChanged(EmployeeRowChangedEvent.of(new Employee(3, "xiaosan", 30, "Male", 3000.0, 1)));
+            employeeStatsService.onEmployeeRowChanged(EmployeeRowChangedEvent.removed(2));
+            return Stream.of(new Employee(1, "xiaoyi", 20, "Male", 1000.0, 1),
+                    new Employee(2, "xiaoer", 20, "Male", 2000.0, 1));
+        });
+        //when
+        employeeStatsService.reload();
+        List<EmployeeStatsResponse> stats = employeeStatsService.getStats(Collections.emptyList(), Collections.singletonList(50.0), 10);
+        //then
+        assertEquals(1, stats.size());
+        assertEquals(2, stats.get(0).getCount());
+        assertEquals(4000.0, stats.get(0).getSalary().getSum());
+    }
+}
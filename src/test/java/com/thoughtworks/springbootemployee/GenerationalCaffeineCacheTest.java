@@ -0,0 +1,56 @@
+package com.thoughtworks.springbootemployee;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.thoughtworks.springbootemployee.common.GenerationalCaffeineCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class GenerationalCaffeineCacheTest {
+    GenerationalCaffeineCache cache = new GenerationalCaffeineCache("employees", Caffeine.newBuilder().build(), true);
+
+    @Test
+    void should_not_cache_value_loaded_before_evict_when_get_given_concurrent_evict() throws Exception {
+        //given
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch evicted = new CountDownLatch(1);
+        CompletableFuture<String> reader = CompletableFuture.supplyAsync(() -> cache.get(1, () -> {
+            loaded.countDown();
+            evicted.await(5, TimeUnit.SECONDS);
+            return "old";
+        }));
+        loaded.await(5, TimeUnit.SECONDS);
+        //when
+        cache.evict(1);
+        evicted.countDown();
+        //then
+        assertEquals("old", reader.get(5, TimeUnit.SECONDS));
+        assertNull(cache.get(1));
+        assertEquals("new", cache.get(1, () -> "new"));
+        assertEquals("new", cache.get(1).get());
+    }
+
+    @Test
+    void should_drop_value_loaded_before_commit_when_get_given_evict_inside_transaction() throws Exception {
+        //given
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.evict(1);
+            assertEquals("old", CompletableFuture.supplyAsync(() -> cache.get(1, () -> "old")).get(5, TimeUnit.SECONDS));
+            //when
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        //then
+        assertNull(cache.get(1));
+    }
+}
@@ -0,0 +1,91 @@
+package com.thoughtworks.springbootemployee;
+
+import com.thoughtworks.springbootemployee.dto.CompanyRequest;
+import com.thoughtworks.springbootemployee.dto.CompanyResponse;
+import com.thoughtworks.springbootemployee.dto.EmployeeRequest;
+import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.mapper.CompanyMapper;
+import com.thoughtworks.springbootemployee.mapper.EmployeeMapper;
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MapperTest {
+
+    @Test
+    void should_copy_same_properties_as_bean_utils_when_toEmployeeResponse_given_employee() {
+        //given
+        Employee employee = new Employee(1, "xiaoyi", 18, "Male", 30000.0, 2);
+        EmployeeResponse expected = new EmployeeResponse();
+        BeanUtils.copyProperties(employee, expected);
+        //when
+        EmployeeResponse actual = EmployeeMapper.toEmployeeResponse(employee);
+        //then
+        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+    }
+
+    @Test
+    void should_copy_same_properties_as_bean_utils_when_toEmployee_given_employee_request() {
+        //given
+        EmployeeRequest employeeRequest = new EmployeeRequest(1, "xiaoyi", 18, "Male", 30000.0, 2);
+        Employee expected = new Employee();
+        BeanUtils.copyProperties(employeeRequest, expected);
+        //when
+        Employee actual = EmployeeMapper.toEmployee(employeeRequest);
+        //then
+        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+    }
+
+    @Test
+    void should_return_distinct_fields_when_toFields_given_repeated_response_fields() {
+        //given
+        //when
+        //then
+        assertThat(EmployeeMapper.toFields(Arrays.asList("name", "id", "name"))).containsExactly("name", "id");
+        assertThatThrownBy(() -> EmployeeMapper.toFields(Arrays.asList("id", "password")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void should_copy_same_properties_as_bean_utils_when_map_company() {
+        //given
+        Company company = new Company(1, "huawei", 100,
+                Collections.singletonList(new Employee(1, "xiaoyi", 18, "Male", 30000.0, 1)));
+        CompanyRequest companyRequest = new CompanyRequest(1, "huawei", 100, company.getEmployees());
+        CompanyResponse expectedResponse = new CompanyResponse();
+        Company expectedCompany = new Company();
+        BeanUtils.copyProperties(company, expectedResponse);
+        BeanUtils.copyProperties(companyRequest, expectedCompany);
+        //when
+        CompanyResponse actualResponse = CompanyMapper.toCompanyResponse(company);
+        Company actualCompany = CompanyMapper.toCompany(companyRequest);
+        //then
+        assertThat(actualResponse).usingRecursiveComparison().isEqualTo(expectedResponse);
+        assertThat(actualCompany).usingRecursiveComparison().isEqualTo(expectedCompany);
+    }
+
+    @Test
+    void should_return_different_etags_when_toETag_given_employees_with_same_id_and_version_sums() {
+        //given
+        Company company = new Company(1, "huawei", 100, Arrays.asList(employee(1), employee(4)));
+        Company otherCompany = new Company(1, "huawei", 100, Arrays.asList(employee(2), employee(3)));
+        //when
+        String eTag = CompanyMapper.toETag(CompanyMapper.toCompanyResponse(company));
+        String otherETag = CompanyMapper.toETag(CompanyMapper.toCompanyResponse(otherCompany));
+        //then
+        assertThat(eTag).isNotEqualTo(otherETag);
+    }
+
+    private static Employee employee(int id) {
+        Employee employee = new Employee(id, "xiaoyi", 18, "Male", 30000.0, 1);
+        employee.setVersion(0);
+        return employee;
+    }
+}
@@ -0,0 +1,67 @@
+package com.thoughtworks.springbootemployee;
+
+import com.thoughtworks.springbootemployee.common.NameIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NameIndexTest {
+
+    private static List<Integer> ids(List<NameIndex.Hit> hits) {
+        return hits.stream().map(NameIndex.Hit::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    void should_return_prefix_matches_before_substring_matches_when_search_given_query() {
+        //given
+        NameIndex nameIndex = new NameIndex();
+        nameIndex.put(1, "xiaoming");
+        nameIndex.put(2, "Ming Li");
+        nameIndex.put(3, "zhangsan");
+        nameIndex.put(4, "MINGYU");
+        //when
+        List<NameIndex.Hit> hits = nameIndex.search("min", 10);
+        //then
+        assertEquals(Arrays.asList(2, 4, 1), ids(hits));
+        assertEquals("Ming Li", hits.get(0).getName());
+    }
+
+    @Test
+    void should_match_short_queries_by_prefix_only_when_search_given_one_or_two_characters() {
+        //given
+        NameIndex nameIndex = new NameIndex();
+        nameIndex.put(1, "xiaoming");
+        nameIndex.put(2, "mingyu");
+        //when
+        //then
+        assertEquals(Collections.singletonList(2), ids(nameIndex.search("m", 10)));
+        assertEquals(Collections.singletonList(1), ids(nameIndex.search("XI", 10)));
+    }
+
+    @Test
+    void should_reflect_renames_and_removals_when_search_after_put_and_remove() {
+        //given
+        NameIndex nameIndex = new NameIndex();
+        for (int id = 1; id <= 1000; id++) {
+            nameIndex.put(id, "employee" + id);
+        }
+        //when
+        nameIndex.put(500, "renamed");
+        for (int id = 1; id <= 1000; id += 2) {
+            nameIndex.remove(id);
+        }
+        //then
+        assertEquals(500, nameIndex.size());
+        assertTrue(nameIndex.search("employee500", 10).isEmpty());
+        assertEquals(Collections.singletonList(500), ids(nameIndex.search("rena", 10)));
+        assertTrue(nameIndex.search("employee999", 10).isEmpty());
+        assertEquals(Collections.singletonList(998), ids(nameIndex.search("employee998", 10)));
+        assertEquals(3, nameIndex.search("employee", 3).size());
+    }
+}
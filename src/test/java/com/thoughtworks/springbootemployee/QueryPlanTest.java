@@ -0,0 +1,234 @@
+package com.thoughtworks.springbootemployee;
+
+import com.thoughtworks.springbootemployee.common.Cursor;
+import com.thoughtworks.springbootemployee.dao.CompanyRepository;
+import com.thoughtworks.springbootemployee.dao.EmployeeRepository;
+import com.thoughtworks.springbootemployee.dto.EmployeeSearchRequest;
+import com.thoughtworks.springbootemployee.service.EmployeeService;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class QueryPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    private final StatementCapture statementCapture = new StatementCapture();
+
+    @BeforeEach
+    void setUp() {
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().addListener(statementCapture);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().getListeners().remove(statementCapture);
+    }
+
+    private List<String> explain(Runnable repositoryCall) {
+        List<QueryInfo> statements = statementCapture.capture(repositoryCall);
+        assertThat(statements).isNotEmpty();
+        return statements.stream().map(this::explain).collect(Collectors.toList());
+    }
+
+    private String explain(QueryInfo statement) {
+        Object[] args = statement.getParametersList().isEmpty() ? new Object[0]
+                : statement.getParametersList().get(0).stream()
+                .sorted(Comparator.comparing(operation -> (Integer) operation.getArgs()[0]))
+                .map(operation -> ParameterSetOperation.isSetNullParameterOperation(operation) ? null : operation.getArgs()[1])
+                .toArray();
+        return jdbcTemplate.queryForObject("EXPLAIN " + statement.getQuery(), String.class, args);
+    }
+
+    private void assertNoTableScan(Runnable repositoryCall) {
+        for (String plan : explain(repositoryCall)) {
+            assertThat(plan).as(plan).doesNotContain(".tableScan");
+        }
+    }
+
+    private static EmployeeSearchRequest searchRequest(String sort, String direction) {
+        EmployeeSearchRequest searchRequest = new EmployeeSearchRequest();
+        searchRequest.setSort(sort);
+        searchRequest.setDirection(direction);
+        return searchRequest;
+    }
+
+    @Test
+    void should_use_index_when_find_all_employees_by_gender() {
+        assertNoTableScan(() -> employeeRepository.findAllByGender("Male"));
+    }
+
+    @Test
+    void should_use_index_when_find_all_employees_by_company_id() {
+        assertNoTableScan(() -> employeeRepository.findAllByCompanyId(1));
+    }
+
+    @Test
+    void should_use_index_when_find_page_of_employees_by_company_id() {
+        assertNoTableScan(() -> employeeRepository.findAllByCompanyId(1, PageRequest.of(1, 10)));
+    }
+
+    @Test
+    void should_use_index_when_find_employees_of_company_after_cursor() {
+        assertNoTableScan(() -> employeeRepository.findAllByCompanyIdAndIdGreaterThanOrderByIdAsc(1, 10, PageRequest.of(0, 11)));
+    }
+
+    @Test
+    void should_use_primary_key_when_find_employees_after_cursor() {
+        assertNoTableScan(() -> employeeRepository.findAllByIdGreaterThanOrderByIdAsc(10, PageRequest.of(0, 11)));
+    }
+
+    @Test
+    void should_use_primary_key_when_find_companies_after_cursor() {
+        assertNoTableScan(() -> companyRepository.findAllByIdGreaterThanOrderByIdAsc(10, PageRequest.of(0, 11)));
+    }
+
+    @Test
+    void should_use_primary_key_when_find_employee_by_id() {
+        assertNoTableScan(() -> employeeRepository.findById(1));
+    }
+
+    @Test
+    void should_use_primary_key_when_company_exists_by_id() {
+        assertNoTableScan(() -> companyRepository.existsById(1));
+    }
+
+    @Test
+    void should_use_indexes_when_find_company_with_employees_by_id() {
+        assertNoTableScan(() -> companyRepository.findWithEmployeesById(1));
+    }
+
+    @Test
+    void should_use_index_when_search_employees_by_gender_and_age_range() {
+        EmployeeSearchRequest searchRequest = searchRequest("age", null);
+        searchRequest.setGender("Male");
+        searchRequest.setMinAge(18);
+        searchRequest.setMaxAge(30);
+        assertNoTableScan(() -> employeeService.searchEmployees(searchRequest));
+    }
+
+    @Test
+    void should_use_index_when_search_employees_by_company_id_and_salary_range() {
+        EmployeeSearchRequest searchRequest = searchRequest("salary", "desc");
+        searchRequest.setCompanyId(1);
+        searchRequest.setMinSalary(1000.0);
+        assertNoTableScan(() -> employeeService.searchEmployees(searchRequest));
+    }
+
+    @Test
+    void should_use_index_when_search_employees_by_salary_range() {
+        EmployeeSearchRequest searchRequest = searchRequest("salary", null);
+        searchRequest.setMinSalary(1000.0);
+        searchRequest.setMaxSalary(5000.0);
+        assertNoTableScan(() -> employeeService.searchEmployees(searchRequest));
+    }
+
+    @Test
+    void should_use_index_when_search_employees_by_name_prefix() {
+        EmployeeSearchRequest searchRequest = searchRequest("name", null);
+        searchRequest.setNamePrefix("xiao");
+        assertNoTableScan(() -> employeeService.searchEmployees(searchRequest));
+    }
+
+    @Test
+    void should_use_index_when_search_employees_by_salary_after_keyset() {
+        EmployeeSearchRequest searchRequest = searchRequest("salary", null);
+        searchRequest.setAfter(Cursor.encodeKeyset(5, 3000.0));
+        assertNoTableScan(() -> employeeService.searchEmployees(searchRequest));
+    }
+
+    @Test
+    void should_use_index_when_search_employees_by_name_descending_after_keyset() {
+        EmployeeSearchRequest searchRequest = searchRequest("name", "desc");
+        searchRequest.setAfter(Cursor.encodeKeyset(5, "xiaowu"));
+        assertNoTableScan(() -> employeeService.searchEmployees(searchRequest));
+    }
+
+    @Test
+    void should_use_index_when_search_employees_by_gender_and_age_after_keyset() {
+        EmployeeSearchRequest searchRequest = searchRequest("age", null);
+        searchRequest.setGender("Male");
+        searchRequest.setAfter(Cursor.encodeKeyset(5, 20));
+        assertNoTableScan(() -> employeeService.searchEmployees(searchRequest));
+    }
+
+    @Test
+    void should_use_index_when_search_employees_by_company_id_and_salary_descending_after_keyset() {
+        EmployeeSearchRequest searchRequest = searchRequest("salary", "desc");
+        searchRequest.setCompanyId(1);
+        searchRequest.setAfter(Cursor.encodeKeyset(5, 3000.0));
+        assertNoTableScan(() -> employeeService.searchEmployees(searchRequest));
+    }
+
+    @Test
+    void should_read_index_in_order_when_find_top_employees_of_company_by_age() {
+        for (String plan : explain(() -> employeeRepository.findOldestByCompanyId(1, 10))) {
+            assertThat(plan).as(plan).contains("index sorted");
+        }
+    }
+
+    @Test
+    void should_read_index_in_order_when_find_top_employees_of_company_by_salary() {
+        for (String plan : explain(() -> employeeRepository.findHighestPaidByCompanyId(1, 10))) {
+            assertThat(plan).as(plan).contains("index sorted");
+        }
+    }
+
+    private static class StatementCapture implements QueryExecutionListener {
+        private final List<QueryInfo> statements = new ArrayList<>();
+        private volatile Thread capturingThread;
+
+        private List<QueryInfo> capture(Runnable repositoryCall) {
+            statements.clear();
+            capturingThread = Thread.currentThread();
+            try {
+                repositoryCall.run();
+            } finally {
+                capturingThread = null;
+            }
+            return new ArrayList<>(statements);
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            if (Thread.currentThread() == capturingThread) {
+                statements.addAll(queryInfoList);
+            }
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.thoughtworks.springbootemployee;
+
+import com.thoughtworks.springbootemployee.common.RequestCoalescer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RequestCoalescerTest {
+
+    @Test
+    void should_load_concurrent_keys_in_fewer_batches_when_load_given_window() throws Exception {
+        //given
+        int threads = 16;
+        AtomicInteger batches = new AtomicInteger();
+        RequestCoalescer<Integer, String> coalescer = new RequestCoalescer<>(keys -> {
+            batches.incrementAndGet();
+            sleep(20);
+            return keys.stream().collect(Collectors.toMap(Function.identity(), key -> "employee" + key));
+        }, 100);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        //when
+        for (int i = 0; i < threads; i++) {
+            int key = i;
+            results.add(executor.submit(() -> {
+                start.await();
+                return coalescer.load(key, TimeUnit.MILLISECONDS.toNanos(50));
+            }));
+        }
+        start.countDown();
+        //then
+        for (int i = 0; i < threads; i++) {
+            assertEquals("employee" + i, results.get(i).get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        assertTrue(batches.get() < threads, "expected coalesced batches but got " + batches.get());
+    }
+
+    @Test
+    void should_return_null_or_rethrow_when_load_given_missing_key_or_failing_loader() {
+        //given
+        RequestCoalescer<Integer, String> missing = new RequestCoalescer<>(keys -> Collections.emptyMap(), 100);
+        RequestCoalescer<Integer, String> failing = new RequestCoalescer<>(keys -> {
+            throw new IllegalStateException();
+        }, 100);
+        //when
+        //then
+        assertNull(missing.load(1, 0));
+        assertThrows(IllegalStateException.class, () -> failing.load(1, 0));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
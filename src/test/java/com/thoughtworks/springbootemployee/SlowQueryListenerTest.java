@@ -0,0 +1,75 @@
+package com.thoughtworks.springbootemployee;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.thoughtworks.springbootemployee.metrics.SlowQueryListener;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.StatementType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SlowQueryListenerTest {
+    private final Logger logger = (Logger) LoggerFactory.getLogger(SlowQueryListener.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void should_log_statement_when_after_query_given_elapsed_time_over_threshold() {
+        //given
+        SlowQueryListener listener = new SlowQueryListener(100, 0);
+        ExecutionInfo executionInfo = executionInfo(150);
+
+        //when
+        listener.afterQuery(executionInfo, queries());
+
+        //then
+        assertThat(appender.list).hasSize(1);
+        assertThat(appender.list.get(0).getFormattedMessage())
+                .contains("\"reason\":\"slow\"")
+                .contains("\"elapsedMs\":150")
+                .contains("select * from employee where id = ?");
+    }
+
+    @Test
+    void should_not_log_statement_when_after_query_given_fast_statement_and_no_sampling() {
+        //given
+        SlowQueryListener listener = new SlowQueryListener(100, 0);
+
+        //when
+        listener.afterQuery(executionInfo(5), queries());
+
+        //then
+        assertThat(appender.list).isEmpty();
+    }
+
+    private static ExecutionInfo executionInfo(long elapsedTime) {
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setElapsedTime(elapsedTime);
+        executionInfo.setStatementType(StatementType.PREPARED);
+        executionInfo.setSuccess(true);
+        return executionInfo;
+    }
+
+    private static List<QueryInfo> queries() {
+        return Collections.singletonList(new QueryInfo("select * from employee where id = ?"));
+    }
+}
@@ -0,0 +1,138 @@
+package com.thoughtworks.springbootemployee;
+
+import com.thoughtworks.springbootemployee.common.ResponseCache;
+import com.thoughtworks.springbootemployee.dao.CompanyRepository;
+import com.thoughtworks.springbootemployee.dao.EmployeeRepository;
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class SqlStatementBudgetTest {
+    private static final int COMPANIES = 20;
+    private static final int EMPLOYEES_PER_COMPANY = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Company company;
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        companyRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        responseCache.invalidateAll();
+        for (int c = 0; c < COMPANIES; c++) {
+            company = companyRepository.save(new Company(0, "company" + c, EMPLOYEES_PER_COMPANY, null));
+            List<Employee> employees = new ArrayList<>();
+            for (int e = 0; e < EMPLOYEES_PER_COMPANY; e++) {
+                employees.add(new Employee(0, "employee" + e, 20 + e, e % 2 == 0 ? "Male" : "Female", 3000.0, company.getId()));
+            }
+            employee = employeeRepository.saveAll(employees).get(0);
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private void assertStatementBudget(long budget, String url, String... params) throws Exception {
+        statistics.clear();
+        MockHttpServletRequestBuilder request = get(url);
+        for (int i = 0; i < params.length; i += 2) {
+            request.param(params[i], params[i + 1]);
+        }
+        mockMvc.perform(request).andExpect(status().isOk());
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= budget, url + " issued " + statements + " SQL statements, budget is " + budget);
+    }
+
+    @Test
+    void should_stay_within_budget_when_get_all_employees() throws Exception {
+        assertStatementBudget(1, "/employees");
+        assertStatementBudget(1, "/employees", "fields", "id,name");
+    }
+
+    @Test
+    void should_stay_within_budget_when_get_employee_by_id() throws Exception {
+        assertStatementBudget(1, "/employees/" + employee.getId());
+    }
+
+    @Test
+    void should_stay_within_budget_when_get_employees_by_gender() throws Exception {
+        assertStatementBudget(1, "/employees", "gender", "Male");
+    }
+
+    @Test
+    void should_stay_within_budget_when_get_paged_employees() throws Exception {
+        assertStatementBudget(2, "/employees", "page", "1", "pageSize", "10");
+        assertStatementBudget(1, "/employees", "page", "1", "pageSize", "10", "slice", "true");
+        assertStatementBudget(1, "/employees", "limit", "10");
+    }
+
+    @Test
+    void should_stay_within_budget_when_get_all_companies() throws Exception {
+        assertStatementBudget(1, "/companies");
+    }
+
+    @Test
+    void should_not_query_when_get_all_companies_or_employees_by_gender_again() throws Exception {
+        assertStatementBudget(1, "/companies");
+        assertStatementBudget(0, "/companies");
+        assertStatementBudget(1, "/employees", "gender", "Male");
+        assertStatementBudget(0, "/employees", "gender", "Male");
+    }
+
+    @Test
+    void should_stay_within_budget_when_get_company_by_id() throws Exception {
+        assertStatementBudget(1, "/companies/" + company.getId());
+    }
+
+    @Test
+    void should_stay_within_budget_when_get_paged_companies() throws Exception {
+        assertStatementBudget(3, "/companies", "page", "1", "pageSize", "10");
+        assertStatementBudget(2, "/companies", "page", "1", "pageSize", "10", "slice", "true");
+        assertStatementBudget(2, "/companies", "limit", "10");
+    }
+
+    @Test
+    void should_stay_within_budget_when_get_employees_of_company() throws Exception {
+        assertStatementBudget(2, "/companies/" + company.getId() + "/employees");
+        assertStatementBudget(3, "/companies/" + company.getId() + "/employees", "page", "1", "pageSize", "2");
+        assertStatementBudget(2, "/companies/" + company.getId() + "/employees", "limit", "2");
+        assertStatementBudget(2, "/companies/" + company.getId() + "/employees", "fields", "id,name");
+    }
+}